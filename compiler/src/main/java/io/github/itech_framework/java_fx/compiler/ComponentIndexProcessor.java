@@ -0,0 +1,140 @@
+package io.github.itech_framework.java_fx.compiler;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Writes {@value #INDEX_FILE}, listing every {@code @FxController} and {@code @FxComponent}
+ * class, with the {@code @Root} field of each component, so the runtime does not have to
+ * discover them reflectively.
+ *
+ * <p>Each line is tab separated: {@code controller <class>} or
+ * {@code component <class> <rootField>}. The root field is empty when it could not be
+ * resolved at build time; the loader then reports the problem as before.</p>
+ */
+public class ComponentIndexProcessor extends AbstractProcessor {
+	public static final String INDEX_FILE = "META-INF/itech/fx-components.index";
+
+	private static final String ROOT = "io.github.itech_framework.java_fx.annotations.components.Root";
+	private static final String PARENT = "javafx.scene.Parent";
+
+	// class name -> index line, so a class compiled again replaces its previous entry
+	private final Map<String, String> entries = new LinkedHashMap<>();
+
+	@Override
+	public Set<String> getSupportedAnnotationTypes() {
+		return Set.of(FxmlCompilerProcessor.FX_CONTROLLER, FxmlCompilerProcessor.FX_COMPONENT);
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		for (TypeElement annotation : annotations) {
+			boolean component = annotation.getQualifiedName().contentEquals(FxmlCompilerProcessor.FX_COMPONENT);
+			for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+				if (element instanceof TypeElement type) {
+					String className = processingEnv.getElementUtils().getBinaryName(type).toString();
+					entries.put(className, component ? componentEntry(type, className) : "controller\t" + className);
+				}
+			}
+		}
+		if (roundEnv.processingOver()) {
+			writeIndex();
+		}
+		return false;
+	}
+
+	private String componentEntry(TypeElement type, String className) {
+		List<VariableElement> rootFields = new ArrayList<>();
+		for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+			if (hasAnnotation(field, ROOT)) {
+				rootFields.add(field);
+			}
+		}
+
+		String rootField = "";
+		if (rootFields.size() == 1) {
+			VariableElement field = rootFields.get(0);
+			TypeElement parent = processingEnv.getElementUtils().getTypeElement(PARENT);
+			if (parent != null && !processingEnv.getTypeUtils().isAssignable(field.asType(), parent.asType())) {
+				warn(field, "@Root field must be of type Parent or subclass: " + field.getSimpleName());
+			} else {
+				rootField = field.getSimpleName().toString();
+			}
+		} else if (rootFields.isEmpty()) {
+			warn(type, "No field annotated with @Root found in " + className);
+		} else {
+			warn(type, "Multiple fields annotated with @Root in " + className);
+		}
+		return "component\t" + className + "\t" + rootField;
+	}
+
+	private static boolean hasAnnotation(Element element, String annotationName) {
+		return element.getAnnotationMirrors().stream().anyMatch(annotation ->
+				((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName()
+						.contentEquals(annotationName));
+	}
+
+	private void writeIndex() {
+		Map<String, String> index = new LinkedHashMap<>();
+		// keep classes indexed by earlier incremental compilations
+		try {
+			FileObject existing = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", INDEX_FILE);
+			try (BufferedReader reader = new BufferedReader(
+					new InputStreamReader(existing.openInputStream(), StandardCharsets.UTF_8))) {
+				reader.lines().filter(line -> !line.isBlank()).forEach(line -> {
+					String[] columns = line.split("\t");
+					if (columns.length > 1) {
+						index.put(columns[1], line);
+					}
+				});
+			}
+		} catch (IOException | IllegalArgumentException e) {
+			// first compilation
+		}
+		index.putAll(entries);
+		if (index.isEmpty()) {
+			return;
+		}
+
+		try {
+			FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_FILE);
+			try (Writer writer = file.openWriter()) {
+				for (String line : index.values()) {
+					writer.write(line);
+					writer.write('\n');
+				}
+			}
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+					"Could not write the FX component index: " + e.getMessage());
+		}
+	}
+
+	private void warn(Element element, String message) {
+		processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, message, element);
+	}
+}
@@ -0,0 +1,665 @@
+package io.github.itech_framework.java_fx.compiler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.w3c.dom.ProcessingInstruction;
+
+/**
+ * Translates one FXML document into the body of a generated {@code FxmlBuilder}.
+ *
+ * <p>Only the static subset of FXML is compiled: imports, instance elements with a public
+ * no-arg or {@code @NamedArg} constructor, {@code fx:id}, {@code fx:controller},
+ * attribute and element properties, static properties, read-only list properties,
+ * default properties and {@code #handler} event handlers. Anything else
+ * (includes, scripts, expressions, resources, {@code fx:define} ...) raises
+ * {@link UnsupportedFxmlException} so the file keeps loading through {@code FXMLLoader}.</p>
+ */
+final class FxmlCompiler {
+	private static final String FX_NAMESPACE = "http://javafx.com/fxml";
+	private static final String SUPPORT = "io.github.itech_framework.java_fx.loader.compiled.FxmlBuilderSupport";
+
+	private final Elements elements;
+	private final Types types;
+	private final List<String> imports = new ArrayList<>();
+	private final Map<String, TypeElement> resolved = new HashMap<>();
+	private final StringBuilder body = new StringBuilder();
+	private int counter;
+	private String controllerType;
+
+	FxmlCompiler(Elements elements, Types types) {
+		this.elements = elements;
+		this.types = types;
+	}
+
+	/**
+	 * @return the complete Java source of the builder class
+	 */
+	String compile(Document document, String fxmlPath, String packageName, String className)
+			throws UnsupportedFxmlException {
+		NodeList topLevel = document.getChildNodes();
+		for (int i = 0; i < topLevel.getLength(); i++) {
+			if (topLevel.item(i) instanceof ProcessingInstruction instruction) {
+				if (instruction.getTarget().equals("import")) {
+					imports.add(instruction.getData().trim());
+				} else if (!instruction.getTarget().equals("xml")) {
+					throw new UnsupportedFxmlException("<?" + instruction.getTarget() + "?> is not supported");
+				}
+			}
+		}
+		imports.add("java.lang.*");
+
+		org.w3c.dom.Element root = document.getDocumentElement();
+		String controllerAttribute = root.getAttributeNS(fxNamespace(root), "controller");
+		if (!controllerAttribute.isEmpty()) {
+			TypeElement controller = elements.getTypeElement(controllerAttribute);
+			if (controller == null) {
+				throw new UnsupportedFxmlException("controller " + controllerAttribute + " not found");
+			}
+			controllerType = controllerAttribute;
+		}
+
+		String rootVariable = instance(root, true);
+
+		StringBuilder source = new StringBuilder();
+		if (!packageName.isEmpty()) {
+			source.append("package ").append(packageName).append(";\n\n");
+		}
+		source.append("@javax.annotation.processing.Generated(\"")
+				.append(FxmlCompilerProcessor.class.getName()).append("\")\n")
+				.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+				.append("public final class ").append(className)
+				.append(" implements io.github.itech_framework.java_fx.loader.compiled.FxmlBuilder {\n\n")
+				.append("    @Override\n    public String fxmlPath() {\n        return ")
+				.append(literal(fxmlPath)).append(";\n    }\n\n")
+				.append("    @Override\n    public Object createController() throws Exception {\n        return ")
+				.append(controllerInstantiation()).append(";\n    }\n\n")
+				.append("    @Override\n    public Object build(Object controller) throws Exception {\n")
+				.append(body)
+				.append("        ").append(SUPPORT).append(".initialize(controller, getClass(), ")
+				.append(literal(fxmlPath)).append(");\n")
+				.append("        return ").append(rootVariable).append(";\n    }\n}\n");
+		return source.toString();
+	}
+
+	private String controllerInstantiation() {
+		if (controllerType == null) {
+			return "null";
+		}
+		TypeElement controller = elements.getTypeElement(controllerType);
+		boolean publicNoArg = controller.getModifiers().contains(Modifier.PUBLIC)
+				&& ElementFilter.constructorsIn(controller.getEnclosedElements()).stream()
+						.anyMatch(c -> c.getParameters().isEmpty() && c.getModifiers().contains(Modifier.PUBLIC));
+		if (publicNoArg) {
+			return "new " + controllerType + "()";
+		}
+		return SUPPORT + ".newInstance(Class.forName(" + literal(elements.getBinaryName(controller).toString()) + "))";
+	}
+
+	/**
+	 * Emits the construction of an instance element and everything nested in it.
+	 *
+	 * @return the local variable holding the instance
+	 */
+	private String instance(org.w3c.dom.Element element, boolean root) throws UnsupportedFxmlException {
+		if (FX_NAMESPACE.equals(namespaceFamily(element.getNamespaceURI()))) {
+			throw new UnsupportedFxmlException("<fx:" + element.getLocalName() + "> is not supported");
+		}
+		TypeElement type = resolve(tagName(element));
+		String typeName = type.getQualifiedName().toString();
+		String variable = "n" + counter++;
+
+		List<Attr> properties = new ArrayList<>();
+		String fxId = null;
+		NamedNodeMap attributes = element.getAttributes();
+		for (int i = 0; i < attributes.getLength(); i++) {
+			Attr attribute = (Attr) attributes.item(i);
+			String name = attribute.getLocalName() != null ? attribute.getLocalName() : attribute.getName();
+			if ("xmlns".equals(attribute.getPrefix()) || "xmlns".equals(attribute.getName())) {
+				continue;
+			}
+			if (FX_NAMESPACE.equals(namespaceFamily(attribute.getNamespaceURI()))) {
+				if (name.equals("id")) {
+					fxId = attribute.getValue();
+				} else if (!(root && name.equals("controller"))) {
+					throw new UnsupportedFxmlException("fx:" + name + " is not supported");
+				}
+				continue;
+			}
+			properties.add(attribute);
+		}
+
+		construct(type, typeName, variable, properties);
+
+		if (fxId != null) {
+			if (findSetter(type, "id") != null && element.getAttribute("id").isEmpty()) {
+				line(variable + ".setId(" + literal(fxId) + ");");
+			}
+			line(SUPPORT + ".inject(controller, " + literal(fxId) + ", " + variable + ");");
+		}
+
+		for (Attr attribute : properties) {
+			attributeProperty(type, variable, attribute.getName(), attribute.getValue());
+		}
+
+		StringBuilder text = new StringBuilder();
+		NodeList children = element.getChildNodes();
+		for (int i = 0; i < children.getLength(); i++) {
+			Node child = children.item(i);
+			if (child instanceof org.w3c.dom.Element childElement) {
+				if (isPropertyElement(childElement)) {
+					propertyElement(type, variable, childElement);
+				} else {
+					String childVariable = instance(childElement, false);
+					assign(type, variable, defaultProperty(type), childVariable, resolve(tagName(childElement)));
+				}
+			} else if (child.getNodeType() == Node.TEXT_NODE || child.getNodeType() == Node.CDATA_SECTION_NODE) {
+				text.append(child.getNodeValue());
+			}
+		}
+		if (!text.toString().isBlank()) {
+			attributeProperty(type, variable, defaultProperty(type), text.toString().trim());
+		}
+		return variable;
+	}
+
+	private void construct(TypeElement type, String typeName, String variable, List<Attr> properties)
+			throws UnsupportedFxmlException {
+		if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+			throw new UnsupportedFxmlException(typeName + " is abstract");
+		}
+		List<ExecutableElement> constructors = ElementFilter.constructorsIn(type.getEnclosedElements());
+		for (ExecutableElement constructor : constructors) {
+			if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+				line(typeName + " " + variable + " = new " + typeName + "();");
+				return;
+			}
+		}
+
+		// No default constructor: pick the smallest @NamedArg constructor covering every attribute
+		ExecutableElement best = null;
+		for (ExecutableElement constructor : constructors) {
+			if (!constructor.getModifiers().contains(Modifier.PUBLIC) || constructor.getParameters().isEmpty()) {
+				continue;
+			}
+			List<String> names = new ArrayList<>();
+			for (VariableElement parameter : constructor.getParameters()) {
+				String name = namedArg(parameter, "value");
+				if (name == null) {
+					names = null;
+					break;
+				}
+				names.add(name);
+			}
+			if (names == null) {
+				continue;
+			}
+			boolean covers = true;
+			for (Attr attribute : properties) {
+				covers &= names.contains(attribute.getName());
+			}
+			if (covers && (best == null || constructor.getParameters().size() < best.getParameters().size())) {
+				best = constructor;
+			}
+		}
+		if (best == null) {
+			throw new UnsupportedFxmlException(typeName + " has no usable constructor");
+		}
+
+		List<String> arguments = new ArrayList<>();
+		for (VariableElement parameter : best.getParameters()) {
+			String name = namedArg(parameter, "value");
+			Attr attribute = null;
+			for (Attr candidate : properties) {
+				if (candidate.getName().equals(name)) {
+					attribute = candidate;
+				}
+			}
+			if (attribute != null) {
+				arguments.add(convert(attribute.getValue(), parameter.asType()));
+			} else {
+				String defaultValue = namedArg(parameter, "defaultValue");
+				arguments.add(defaultValue != null && !defaultValue.isEmpty()
+						? convert(defaultValue, parameter.asType())
+						: zero(parameter.asType()));
+			}
+		}
+		properties.clear();
+		line(typeName + " " + variable + " = new " + typeName + "(" + String.join(", ", arguments) + ");");
+	}
+
+	private void attributeProperty(TypeElement type, String variable, String name, String value)
+			throws UnsupportedFxmlException {
+		if (value.startsWith("\\")) {
+			value = value.substring(1);
+		} else if (value.startsWith("$") || value.startsWith("%") || value.startsWith("@")) {
+			throw new UnsupportedFxmlException("attribute " + name + "=\"" + value + "\" needs runtime resolution");
+		} else if (value.startsWith("#") && name.startsWith("on")) {
+			ExecutableElement setter = findSetter(type, name);
+			if (setter == null || !erasureName(setter.getParameters().get(0).asType())
+					.equals("javafx.event.EventHandler")) {
+				throw new UnsupportedFxmlException("no event handler property " + name);
+			}
+			line(variable + "." + setter.getSimpleName() + "(" + SUPPORT + ".handler(controller, "
+					+ literal(value.substring(1)) + "));");
+			return;
+		}
+
+		if (name.contains(".")) {
+			staticProperty(variable, name, value, null);
+			return;
+		}
+
+		ExecutableElement setter = findSetter(type, name);
+		if (setter != null) {
+			line(variable + "." + setter.getSimpleName() + "(" + convert(value, setter.getParameters().get(0).asType())
+					+ ");");
+			return;
+		}
+
+		ExecutableElement getter = findListGetter(type, name);
+		if (getter != null) {
+			TypeMirror elementType = listElementType(getter);
+			for (String item : value.split(",")) {
+				line(variable + "." + getter.getSimpleName() + "().add(" + convert(item.trim(), elementType) + ");");
+			}
+			return;
+		}
+		throw new UnsupportedFxmlException("no writable property " + name + " on " + type.getQualifiedName());
+	}
+
+	private void propertyElement(TypeElement type, String variable, org.w3c.dom.Element element)
+			throws UnsupportedFxmlException {
+		String name = tagName(element);
+		if (element.getAttributes().getLength() > 0) {
+			throw new UnsupportedFxmlException("attributes on property element <" + name + ">");
+		}
+
+		List<String> values = new ArrayList<>();
+		List<TypeElement> valueTypes = new ArrayList<>();
+		StringBuilder text = new StringBuilder();
+		NodeList children = element.getChildNodes();
+		for (int i = 0; i < children.getLength(); i++) {
+			Node child = children.item(i);
+			if (child instanceof org.w3c.dom.Element childElement) {
+				if (isPropertyElement(childElement)) {
+					throw new UnsupportedFxmlException("nested property element <" + tagName(childElement) + ">");
+				}
+				values.add(instance(childElement, false));
+				valueTypes.add(resolve(tagName(childElement)));
+			} else if (child.getNodeType() == Node.TEXT_NODE || child.getNodeType() == Node.CDATA_SECTION_NODE) {
+				text.append(child.getNodeValue());
+			}
+		}
+
+		if (values.isEmpty()) {
+			if (!text.toString().isBlank()) {
+				attributeProperty(type, variable, name, text.toString().trim());
+			}
+			return;
+		}
+		if (!text.toString().isBlank()) {
+			throw new UnsupportedFxmlException("mixed content in <" + name + ">");
+		}
+
+		if (name.contains(".")) {
+			if (values.size() != 1) {
+				throw new UnsupportedFxmlException("static property <" + name + "> needs exactly one value");
+			}
+			staticProperty(variable, name, null, values.get(0));
+			return;
+		}
+		for (int i = 0; i < values.size(); i++) {
+			assign(type, variable, name, values.get(i), valueTypes.get(i));
+		}
+	}
+
+	/**
+	 * Adds an instance to a list property or sets it on a single-valued property.
+	 */
+	private void assign(TypeElement type, String variable, String property, String value, TypeElement valueType)
+			throws UnsupportedFxmlException {
+		if (property == null) {
+			throw new UnsupportedFxmlException(type.getQualifiedName() + " has no default property");
+		}
+		ExecutableElement getter = findListGetter(type, property);
+		if (getter != null) {
+			requireAssignable(valueType, listElementType(getter), property);
+			line(variable + "." + getter.getSimpleName() + "().add(" + value + ");");
+			return;
+		}
+		ExecutableElement setter = findSetter(type, property);
+		if (setter != null) {
+			requireAssignable(valueType, setter.getParameters().get(0).asType(), property);
+			line(variable + "." + setter.getSimpleName() + "(" + value + ");");
+			return;
+		}
+		throw new UnsupportedFxmlException("no writable property " + property + " on " + type.getQualifiedName());
+	}
+
+	private void staticProperty(String variable, String qualifiedName, String text, String value)
+			throws UnsupportedFxmlException {
+		int dot = qualifiedName.lastIndexOf('.');
+		TypeElement owner = resolve(qualifiedName.substring(0, dot));
+		String setterName = "set" + capitalize(qualifiedName.substring(dot + 1));
+		for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(owner))) {
+			if (method.getSimpleName().contentEquals(setterName) && method.getParameters().size() == 2
+					&& method.getModifiers().contains(Modifier.STATIC)
+					&& method.getModifiers().contains(Modifier.PUBLIC)) {
+				String argument = value != null ? value : convert(text, method.getParameters().get(1).asType());
+				line(owner.getQualifiedName() + "." + setterName + "(" + variable + ", " + argument + ");");
+				return;
+			}
+		}
+		throw new UnsupportedFxmlException("no static property " + qualifiedName);
+	}
+
+	private String convert(String value, TypeMirror type) throws UnsupportedFxmlException {
+		TypeKind kind = type.getKind();
+		if (kind.isPrimitive()) {
+			return primitive(value, kind);
+		}
+		if (kind == TypeKind.TYPEVAR) {
+			type = types.erasure(type);
+		}
+		if (type.getKind() != TypeKind.DECLARED) {
+			throw new UnsupportedFxmlException("cannot convert \"" + value + "\" to " + type);
+		}
+
+		String name = erasureName(type);
+		switch (name) {
+			case "java.lang.String", "java.lang.Object", "java.lang.CharSequence":
+				return literal(value);
+			default:
+				break;
+		}
+		try {
+			return primitive(value, types.unboxedType(type).getKind());
+		} catch (IllegalArgumentException notBoxed) {
+			// not a boxed primitive
+		}
+
+		TypeElement element = (TypeElement) types.asElement(type);
+		if (element.getKind() == ElementKind.ENUM) {
+			return name + "." + enumConstant(element, value);
+		}
+		// FXMLLoader coerces any type that has a static valueOf(String)
+		for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(element))) {
+			if (method.getSimpleName().contentEquals("valueOf") && method.getModifiers().contains(Modifier.STATIC)
+					&& method.getModifiers().contains(Modifier.PUBLIC) && method.getParameters().size() == 1
+					&& erasureName(method.getParameters().get(0).asType()).equals("java.lang.String")) {
+				return name + ".valueOf(" + literal(value) + ")";
+			}
+		}
+		throw new UnsupportedFxmlException("cannot convert \"" + value + "\" to " + name);
+	}
+
+	private String primitive(String value, TypeKind kind) throws UnsupportedFxmlException {
+		try {
+			switch (kind) {
+				case BOOLEAN:
+					return Boolean.toString(Boolean.parseBoolean(value));
+				case INT:
+					return Integer.toString(Integer.parseInt(value));
+				case LONG:
+					return Long.parseLong(value) + "L";
+				case SHORT:
+					return "(short) " + Short.parseShort(value);
+				case BYTE:
+					return "(byte) " + Byte.parseByte(value);
+				case CHAR:
+					if (value.length() != 1) {
+						throw new UnsupportedFxmlException("cannot convert \"" + value + "\" to char");
+					}
+					return "'" + (value.equals("'") || value.equals("\\") ? "\\" + value : value) + "'";
+				case DOUBLE:
+					return floatingPoint(Double.parseDouble(value), "Double", "d");
+				case FLOAT:
+					return floatingPoint(Float.parseFloat(value), "Float", "f");
+				default:
+					throw new IllegalArgumentException(kind.toString());
+			}
+		} catch (NumberFormatException e) {
+			throw new UnsupportedFxmlException("cannot convert \"" + value + "\" to " + kind);
+		}
+	}
+
+	private static String floatingPoint(double value, String boxed, String suffix) {
+		if (Double.isNaN(value)) {
+			return boxed + ".NaN";
+		}
+		if (Double.isInfinite(value)) {
+			return boxed + (value > 0 ? ".POSITIVE_INFINITY" : ".NEGATIVE_INFINITY");
+		}
+		return (suffix.equals("f") ? Float.toString((float) value) : Double.toString(value)) + suffix;
+	}
+
+	private String zero(TypeMirror type) {
+		return switch (type.getKind()) {
+			case BOOLEAN -> "false";
+			case INT, SHORT, BYTE, CHAR -> "(" + type + ") 0";
+			case LONG -> "0L";
+			case FLOAT -> "0f";
+			case DOUBLE -> "0d";
+			default -> "null";
+		};
+	}
+
+	private String enumConstant(TypeElement enumType, String value) throws UnsupportedFxmlException {
+		List<String> constants = new ArrayList<>();
+		for (Element enclosed : enumType.getEnclosedElements()) {
+			if (enclosed.getKind() == ElementKind.ENUM_CONSTANT) {
+				constants.add(enclosed.getSimpleName().toString());
+			}
+		}
+		if (constants.contains(value)) {
+			return value;
+		}
+		// Same fallback as FXMLLoader: camelCase or lower case to ALL_CAPS
+		String allCaps = value.replaceAll("([a-z])([A-Z])", "$1_$2").toUpperCase();
+		if (constants.contains(allCaps)) {
+			return allCaps;
+		}
+		throw new UnsupportedFxmlException(value + " is not a constant of " + enumType.getQualifiedName());
+	}
+
+	private void requireAssignable(TypeElement valueType, TypeMirror target, String property)
+			throws UnsupportedFxmlException {
+		if (!types.isAssignable(types.erasure(valueType.asType()), types.erasure(target))) {
+			throw new UnsupportedFxmlException(valueType.getQualifiedName() + " cannot be assigned to " + property);
+		}
+	}
+
+	private ExecutableElement findSetter(TypeElement type, String property) {
+		String setterName = "set" + capitalize(property);
+		for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+			if (method.getSimpleName().contentEquals(setterName) && method.getParameters().size() == 1
+					&& method.getModifiers().contains(Modifier.PUBLIC)
+					&& !method.getModifiers().contains(Modifier.STATIC)) {
+				return method;
+			}
+		}
+		return null;
+	}
+
+	private ExecutableElement findListGetter(TypeElement type, String property) {
+		String getterName = "get" + capitalize(property);
+		TypeMirror list = types.erasure(elements.getTypeElement("java.util.List").asType());
+		for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+			if (method.getSimpleName().contentEquals(getterName) && method.getParameters().isEmpty()
+					&& method.getModifiers().contains(Modifier.PUBLIC)
+					&& types.isAssignable(types.erasure(method.getReturnType()), list)) {
+				return method;
+			}
+		}
+		return null;
+	}
+
+	private TypeMirror listElementType(ExecutableElement getter) {
+		// Generated variables use raw types, so list elements are checked against their erasure
+		TypeMirror returnType = getter.getReturnType();
+		if (returnType instanceof DeclaredType declared && declared.getTypeArguments().size() == 1) {
+			TypeMirror argument = declared.getTypeArguments().get(0);
+			if (argument.getKind() == TypeKind.DECLARED) {
+				return argument;
+			}
+		}
+		return elements.getTypeElement("java.lang.Object").asType();
+	}
+
+	private String defaultProperty(TypeElement type) {
+		for (TypeElement current = type; current != null; current = superclass(current)) {
+			for (AnnotationMirror annotation : current.getAnnotationMirrors()) {
+				if (erasureName(annotation.getAnnotationType()).equals("javafx.beans.DefaultProperty")) {
+					for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+							: annotation.getElementValues().entrySet()) {
+						if (entry.getKey().getSimpleName().contentEquals("value")) {
+							return entry.getValue().getValue().toString();
+						}
+					}
+				}
+			}
+		}
+		return null;
+	}
+
+	private TypeElement superclass(TypeElement type) {
+		TypeMirror superclass = type.getSuperclass();
+		return superclass.getKind() == TypeKind.DECLARED ? (TypeElement) types.asElement(superclass) : null;
+	}
+
+	private static String namedArg(VariableElement parameter, String member) {
+		for (AnnotationMirror annotation : parameter.getAnnotationMirrors()) {
+			if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName()
+					.contentEquals("javafx.beans.NamedArg")) {
+				for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+						: annotation.getElementValues().entrySet()) {
+					if (entry.getKey().getSimpleName().contentEquals(member)) {
+						return entry.getValue().getValue().toString();
+					}
+				}
+				return member.equals("value") ? null : "";
+			}
+		}
+		return null;
+	}
+
+	private TypeElement resolve(String name) throws UnsupportedFxmlException {
+		TypeElement cached = resolved.get(name);
+		if (cached != null) {
+			return cached;
+		}
+		TypeElement type = null;
+		if (name.contains(".")) {
+			type = elements.getTypeElement(name);
+		}
+		for (int i = 0; type == null && i < imports.size(); i++) {
+			String entry = imports.get(i);
+			if (entry.endsWith(".*")) {
+				type = elements.getTypeElement(entry.substring(0, entry.length() - 1) + name);
+			} else if (entry.endsWith("." + name) || entry.equals(name)) {
+				type = elements.getTypeElement(entry);
+			} else if (name.startsWith(entry.substring(entry.lastIndexOf('.') + 1) + ".")) {
+				// nested class of an imported class, e.g. Outer.Inner
+				type = elements.getTypeElement(entry + name.substring(name.indexOf('.')));
+			}
+		}
+		if (type == null) {
+			throw new UnsupportedFxmlException("cannot resolve class " + name);
+		}
+		resolved.put(name, type);
+		return type;
+	}
+
+	private static boolean isPropertyElement(org.w3c.dom.Element element) {
+		if (element.getNamespaceURI() != null && FX_NAMESPACE.equals(namespaceFamily(element.getNamespaceURI()))) {
+			return false;
+		}
+		String name = tagName(element);
+		String simple = name.substring(name.lastIndexOf('.') + 1);
+		return Character.isLowerCase(simple.charAt(0));
+	}
+
+	private static String tagName(org.w3c.dom.Element element) {
+		return element.getLocalName() != null ? element.getLocalName() : element.getTagName();
+	}
+
+	private static String fxNamespace(org.w3c.dom.Element root) {
+		NamedNodeMap attributes = root.getAttributes();
+		for (int i = 0; i < attributes.getLength(); i++) {
+			String value = attributes.item(i).getNodeValue();
+			if (attributes.item(i).getNodeName().startsWith("xmlns:") && FX_NAMESPACE.equals(namespaceFamily(value))) {
+				return value;
+			}
+		}
+		return FX_NAMESPACE;
+	}
+
+	/**
+	 * Maps versioned namespaces such as {@code http://javafx.com/fxml/1} to {@link #FX_NAMESPACE}.
+	 */
+	private static String namespaceFamily(String namespace) {
+		if (namespace != null && namespace.startsWith(FX_NAMESPACE)) {
+			return FX_NAMESPACE;
+		}
+		return namespace;
+	}
+
+	private String erasureName(TypeMirror type) {
+		TypeMirror erased = types.erasure(type);
+		Element element = types.asElement(erased);
+		return element instanceof TypeElement typeElement ? typeElement.getQualifiedName().toString()
+				: erased.toString();
+	}
+
+	private void line(String code) {
+		body.append("        ").append(code).append('\n');
+	}
+
+	private static String capitalize(String name) {
+		return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+	}
+
+	static String literal(String value) {
+		StringBuilder literal = new StringBuilder("\"");
+		for (char c : value.toCharArray()) {
+			switch (c) {
+				case '"' -> literal.append("\\\"");
+				case '\\' -> literal.append("\\\\");
+				case '\n' -> literal.append("\\n");
+				case '\r' -> literal.append("\\r");
+				case '\t' -> literal.append("\\t");
+				default -> {
+					if (c < 0x20) {
+						literal.append(String.format("\\u%04x", (int) c));
+					} else {
+						literal.append(c);
+					}
+				}
+			}
+		}
+		return literal.append('"').toString();
+	}
+}
@@ -0,0 +1,233 @@
+package io.github.itech_framework.java_fx.compiler;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.w3c.dom.Document;
+
+/**
+ * Compiles the FXML files of {@code @FxComponent} classes and of {@code @FxController(fxml = ...)}
+ * classes into {@code FxmlBuilder} implementations and registers them in
+ * {@code META-INF/services}. Files that cannot be compiled are reported as notes and keep
+ * loading through {@code FXMLLoader}.
+ *
+ * <p>FXML files are looked up in the class output (where Maven copies resources before
+ * compiling), the source path, and the directories listed in the
+ * {@value #RESOURCE_DIRS_OPTION} option.</p>
+ */
+@SupportedOptions(FxmlCompilerProcessor.RESOURCE_DIRS_OPTION)
+public class FxmlCompilerProcessor extends AbstractProcessor {
+	public static final String RESOURCE_DIRS_OPTION = "itech.fxml.resourceDirs";
+
+	static final String FX_CONTROLLER = "io.github.itech_framework.java_fx.annotations.FxController";
+	static final String FX_COMPONENT = "io.github.itech_framework.java_fx.annotations.components.FxComponent";
+	private static final String SERVICE_FILE = "META-INF/services/io.github.itech_framework.java_fx.loader.compiled.FxmlBuilder";
+
+	private final Set<String> generatedBuilders = new LinkedHashSet<>();
+	private final Map<String, String> builderByResource = new HashMap<>();
+
+	@Override
+	public Set<String> getSupportedAnnotationTypes() {
+		return Set.of(FX_CONTROLLER, FX_COMPONENT);
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		for (TypeElement annotation : annotations) {
+			for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+				if (element instanceof TypeElement type) {
+					String fxmlPath = fxmlPath(type, annotation);
+					if (fxmlPath != null) {
+						compile(type, fxmlPath);
+					}
+				}
+			}
+		}
+		if (roundEnv.processingOver()) {
+			writeServiceFile();
+		}
+		return false;
+	}
+
+	private String fxmlPath(TypeElement type, TypeElement annotation) {
+		String qualifiedName = annotation.getQualifiedName().toString();
+		String value = annotationValue(type, qualifiedName, qualifiedName.equals(FX_COMPONENT) ? "value" : "fxml");
+		if (qualifiedName.equals(FX_COMPONENT) && (value == null || value.isEmpty())) {
+			// same default as FxComponentLoader
+			return "/views/" + type.getSimpleName() + ".fxml";
+		}
+		return value == null || value.isEmpty() ? null : value;
+	}
+
+	private void compile(TypeElement type, String fxmlPath) {
+		String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+		String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+		String className = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+				.replace('$', '_') + "_FxmlBuilder";
+		String qualifiedBuilder = packageName.isEmpty() ? className : packageName + "." + className;
+		if (generatedBuilders.contains(qualifiedBuilder)) {
+			return;
+		}
+		// builders are keyed by the resolved resource, like Class.getResource resolves relative paths
+		String resourceName = resourceName(type, fxmlPath);
+		String existing = builderByResource.get(resourceName);
+		if (existing != null) {
+			note(type, "FXML " + fxmlPath + " is already compiled to " + existing);
+			return;
+		}
+
+		try {
+			Document document = readFxml(resourceName);
+			if (document == null) {
+				note(type, "FXML " + fxmlPath + " not found at build time, it is loaded with FXMLLoader");
+				return;
+			}
+			String source = new FxmlCompiler(processingEnv.getElementUtils(), processingEnv.getTypeUtils())
+					.compile(document, "/" + resourceName, packageName, className);
+			JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedBuilder, type);
+			try (Writer writer = file.openWriter()) {
+				writer.write(source);
+			}
+			generatedBuilders.add(qualifiedBuilder);
+			builderByResource.put(resourceName, qualifiedBuilder);
+		} catch (UnsupportedFxmlException e) {
+			note(type, "FXML " + fxmlPath + " is loaded with FXMLLoader: " + e.getMessage());
+		} catch (Exception e) {
+			note(type, "FXML " + fxmlPath + " could not be compiled, it is loaded with FXMLLoader: " + e);
+		}
+	}
+
+	/**
+	 * @return the normalized resource name without leading slash, e.g. {@code com/acme/view.fxml}
+	 */
+	private String resourceName(TypeElement type, String fxmlPath) {
+		String resourceName;
+		if (fxmlPath.startsWith("/")) {
+			resourceName = fxmlPath.substring(1);
+		} else {
+			PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+			resourceName = pkg.isUnnamed() ? fxmlPath : pkg.getQualifiedName().toString().replace('.', '/') + "/" + fxmlPath;
+		}
+		try {
+			String normalized = new URI(null, null, "/" + resourceName, null).normalize().getPath();
+			return normalized.substring(1);
+		} catch (URISyntaxException e) {
+			return resourceName;
+		}
+	}
+
+	private Document readFxml(String resourceName) throws Exception {
+		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+		factory.setNamespaceAware(true);
+		factory.setExpandEntityReferences(false);
+		factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+
+		for (StandardLocation location : new StandardLocation[] { StandardLocation.CLASS_OUTPUT,
+				StandardLocation.SOURCE_PATH }) {
+			try {
+				FileObject file = processingEnv.getFiler().getResource(location, "", resourceName);
+				try (InputStream in = file.openInputStream()) {
+					return factory.newDocumentBuilder().parse(in);
+				}
+			} catch (IOException | IllegalArgumentException e) {
+				// not in this location
+			}
+		}
+
+		String resourceDirs = processingEnv.getOptions().get(RESOURCE_DIRS_OPTION);
+		if (resourceDirs != null) {
+			for (String dir : resourceDirs.split(",")) {
+				Path file = Path.of(dir.trim(), resourceName);
+				if (Files.isRegularFile(file)) {
+					try (InputStream in = Files.newInputStream(file)) {
+						return factory.newDocumentBuilder().parse(in);
+					}
+				}
+			}
+		}
+		return null;
+	}
+
+	private void writeServiceFile() {
+		Set<String> entries = new LinkedHashSet<>();
+		// keep builders generated by earlier incremental compilations
+		try {
+			FileObject existing = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+			try (BufferedReader reader = new BufferedReader(
+					new InputStreamReader(existing.openInputStream(), StandardCharsets.UTF_8))) {
+				reader.lines().map(String::trim).filter(line -> !line.isEmpty()).forEach(entries::add);
+			}
+		} catch (IOException | IllegalArgumentException e) {
+			// first compilation
+		}
+		entries.addAll(generatedBuilders);
+		if (entries.isEmpty()) {
+			return;
+		}
+
+		try {
+			FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+			try (Writer writer = file.openWriter()) {
+				for (String entry : entries) {
+					writer.write(entry);
+					writer.write('\n');
+				}
+			}
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+					"Could not register compiled FXML builders: " + e.getMessage());
+		}
+	}
+
+	static String annotationValue(Element element, String annotationName, String member) {
+		for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+			if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName()
+					.contentEquals(annotationName)) {
+				for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+						: annotation.getElementValues().entrySet()) {
+					if (entry.getKey().getSimpleName().contentEquals(member)) {
+						return entry.getValue().getValue().toString();
+					}
+				}
+			}
+		}
+		return null;
+	}
+
+	private void note(Element element, String message) {
+		processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, message, element);
+	}
+}
@@ -0,0 +1,14 @@
+package io.github.itech_framework.java_fx.compiler;
+
+/**
+ * Thrown when an FXML file uses a feature the compiler does not translate. The file is
+ * then left to {@code FXMLLoader} at runtime; it is never a build error.
+ */
+public class UnsupportedFxmlException extends Exception {
+
+	private static final long serialVersionUID = 3120584906713552011L;
+
+	public UnsupportedFxmlException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,217 @@
+package io.github.itech_framework.java_fx.compiler;
+
+import static com.google.testing.compile.Compiler.javac;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.JavaFileObjects;
+
+class FxmlCompilerProcessorTest {
+	private static final String BUILDER_SERVICE = "META-INF/services/io.github.itech_framework.java_fx.loader.compiled.FxmlBuilder";
+
+	@TempDir
+	Path resources;
+
+	@Test
+	void compilesControllerInjectionAndEventHandlers() throws IOException {
+		fxml("views/home.fxml", """
+				<?xml version="1.0" encoding="UTF-8"?>
+				<?import javafx.scene.control.*?>
+				<?import javafx.scene.layout.*?>
+				<VBox xmlns:fx="http://javafx.com/fxml/1" fx:controller="app.HomeController" spacing="4">
+				    <Label fx:id="title" text="Orders"/>
+				    <Button fx:id="save" text="Save" onAction="#save" VBox.vgrow="ALWAYS"/>
+				</VBox>
+				""");
+
+		Compilation compilation = compile(controller("app.HomeController", "/views/home.fxml",
+				"@javafx.fxml.FXML javafx.scene.control.Label title;",
+				"@javafx.fxml.FXML void save() {}"));
+
+		assertEquals(Compilation.Status.SUCCESS, compilation.status(), diagnostics(compilation));
+		String builder = generatedSource(compilation, "app.HomeController_FxmlBuilder");
+		assertTrue(builder.contains("return \"/views/home.fxml\";"), builder);
+		assertTrue(builder.contains("return new app.HomeController();"), builder);
+		assertTrue(builder.contains(".setId(\"title\");"), builder);
+		assertTrue(builder.contains("FxmlBuilderSupport.inject(controller, \"title\", "), builder);
+		assertTrue(builder.contains(".setOnAction(io.github.itech_framework.java_fx.loader.compiled.FxmlBuilderSupport"
+				+ ".handler(controller, \"save\"));"), builder);
+		assertTrue(builder.contains("javafx.scene.layout.VBox.setVgrow("), builder);
+		assertTrue(builder.contains("javafx.scene.layout.Priority.ALWAYS"), builder);
+		assertTrue(builder.contains("FxmlBuilderSupport.initialize(controller, getClass(), \"/views/home.fxml\");"),
+				builder);
+		assertEquals(List.of("app.HomeController_FxmlBuilder"), registeredBuilders(compilation));
+	}
+
+	@Test
+	void leavesIncludesToFxmlLoader() throws IOException {
+		fxml("views/shell.fxml", """
+				<?import javafx.scene.layout.*?>
+				<BorderPane xmlns:fx="http://javafx.com/fxml/1" fx:controller="app.ShellController">
+				    <center><fx:include source="content.fxml"/></center>
+				</BorderPane>
+				""");
+
+		Compilation compilation = compile(controller("app.ShellController", "/views/shell.fxml"));
+
+		assertEquals(Compilation.Status.SUCCESS, compilation.status(), diagnostics(compilation));
+		assertFalse(compilation.generatedSourceFile("app.ShellController_FxmlBuilder").isPresent());
+		assertNote(compilation, "/views/shell.fxml is loaded with FXMLLoader: <fx:include> is not supported");
+		assertEquals(List.of(), registeredBuilders(compilation));
+	}
+
+	@Test
+	void leavesExpressionsToFxmlLoader() throws IOException {
+		fxml("views/bound.fxml", """
+				<?import javafx.scene.control.*?>
+				<Label xmlns:fx="http://javafx.com/fxml/1" text="${controller.name}"/>
+				""");
+
+		Compilation compilation = compile(controller("app.BoundController", "/views/bound.fxml"));
+
+		assertEquals(Compilation.Status.SUCCESS, compilation.status(), diagnostics(compilation));
+		assertFalse(compilation.generatedSourceFile("app.BoundController_FxmlBuilder").isPresent());
+		assertNote(compilation, "needs runtime resolution");
+	}
+
+	@Test
+	void leavesMissingFilesToFxmlLoader() {
+		Compilation compilation = compile(controller("app.MissingController", "/views/missing.fxml"));
+
+		assertEquals(Compilation.Status.SUCCESS, compilation.status(), diagnostics(compilation));
+		assertNote(compilation, "/views/missing.fxml not found at build time");
+	}
+
+	@Test
+	void resolvesRelativePathsAgainstTheControllerPackage() throws IOException {
+		fxml("first/view.fxml", """
+				<?import javafx.scene.control.*?>
+				<Label text="first"/>
+				""");
+		fxml("second/view.fxml", """
+				<?import javafx.scene.control.*?>
+				<Button text="second"/>
+				""");
+
+		Compilation compilation = compile(controller("first.FirstController", "view.fxml"),
+				controller("second.SecondController", "view.fxml"));
+
+		assertEquals(Compilation.Status.SUCCESS, compilation.status(), diagnostics(compilation));
+		String first = generatedSource(compilation, "first.FirstController_FxmlBuilder");
+		String second = generatedSource(compilation, "second.SecondController_FxmlBuilder");
+		assertTrue(first.contains("return \"/first/view.fxml\";") && first.contains("javafx.scene.control.Label"), first);
+		assertTrue(second.contains("return \"/second/view.fxml\";") && second.contains("javafx.scene.control.Button"),
+				second);
+	}
+
+	@Test
+	void compilesASharedFileOnce() throws IOException {
+		fxml("views/shared.fxml", """
+				<?import javafx.scene.layout.*?>
+				<StackPane/>
+				""");
+
+		Compilation compilation = compile(controller("app.FirstController", "/views/shared.fxml"),
+				controller("app.SecondController", "/views/../views/shared.fxml"));
+
+		assertEquals(Compilation.Status.SUCCESS, compilation.status(), diagnostics(compilation));
+		assertEquals(1, registeredBuilders(compilation).size(), diagnostics(compilation));
+		assertNote(compilation, "is already compiled to app.");
+	}
+
+	@Test
+	void compilesComponentsFromTheirDefaultPath() throws IOException {
+		fxml("views/Badge.fxml", """
+				<?import javafx.scene.control.*?>
+				<Label xmlns:fx="http://javafx.com/fxml/1" fx:id="badge" text="new"/>
+				""");
+
+		Compilation compilation = compile(JavaFileObjects.forSourceString("app.Badge", """
+				package app;
+
+				@io.github.itech_framework.java_fx.annotations.components.FxComponent
+				public class Badge {
+				    @javafx.fxml.FXML javafx.scene.control.Label badge;
+				}
+				"""));
+
+		assertEquals(Compilation.Status.SUCCESS, compilation.status(), diagnostics(compilation));
+		String builder = generatedSource(compilation, "app.Badge_FxmlBuilder");
+		assertTrue(builder.contains("return \"/views/Badge.fxml\";"), builder);
+		assertTrue(builder.contains("return null;"), builder);
+		assertTrue(builder.contains("FxmlBuilderSupport.inject(controller, \"badge\", "), builder);
+	}
+
+	private Compilation compile(JavaFileObject... sources) {
+		List<JavaFileObject> all = new ArrayList<>(List.of(sources));
+		all.addAll(RuntimeStubs.sources());
+		return javac()
+				.withProcessors(new FxmlCompilerProcessor())
+				.withOptions("-A" + FxmlCompilerProcessor.RESOURCE_DIRS_OPTION + "=" + resources)
+				.compile(all);
+	}
+
+	private static JavaFileObject controller(String className, String fxml, String... members) {
+		int dot = className.lastIndexOf('.');
+		String body = String.join("\n    ", members);
+		return JavaFileObjects.forSourceString(className, "package " + className.substring(0, dot) + ";\n\n"
+				+ "@io.github.itech_framework.java_fx.annotations.FxController(fxml = \"" + fxml + "\")\n"
+				+ "public class " + className.substring(dot + 1) + " {\n    " + body + "\n}\n");
+	}
+
+	private void fxml(String resourceName, String content) throws IOException {
+		Path file = resources.resolve(resourceName);
+		Files.createDirectories(file.getParent());
+		Files.writeString(file, content);
+	}
+
+	private static String generatedSource(Compilation compilation, String className) throws IOException {
+		Optional<JavaFileObject> file = compilation.generatedSourceFile(className);
+		assertTrue(file.isPresent(), className + " was not generated: " + diagnostics(compilation));
+		return file.get().getCharContent(true).toString();
+	}
+
+	private static List<String> registeredBuilders(Compilation compilation) throws IOException {
+		Optional<JavaFileObject> file = compilation.generatedFile(StandardLocation.CLASS_OUTPUT, BUILDER_SERVICE);
+		if (file.isEmpty()) {
+			return List.of();
+		}
+		try {
+			return file.get().getCharContent(true).toString().lines().filter(line -> !line.isBlank()).toList();
+		} catch (FileNotFoundException e) {
+			// only probed for previous entries, never written
+			return List.of();
+		}
+	}
+
+	private static void assertNote(Compilation compilation, String text) {
+		assertTrue(compilation.notes().stream().anyMatch(note -> note.getMessage(Locale.ROOT).contains(text)),
+				"no note containing \"" + text + "\": " + diagnostics(compilation));
+	}
+
+	private static String diagnostics(Compilation compilation) {
+		StringBuilder messages = new StringBuilder();
+		for (Diagnostic<? extends JavaFileObject> diagnostic : compilation.diagnostics()) {
+			messages.append('\n').append(diagnostic.getKind()).append(": ").append(diagnostic.getMessage(Locale.ROOT));
+		}
+		return messages.toString();
+	}
+}
@@ -0,0 +1,60 @@
+package io.github.itech_framework.java_fx.compiler;
+
+import java.util.List;
+
+import javax.tools.JavaFileObject;
+
+import com.google.testing.compile.JavaFileObjects;
+
+/**
+ * Minimal sources of the java-fx annotations and runtime types generated builders refer to,
+ * so processor tests do not depend on the java-fx module.
+ */
+final class RuntimeStubs {
+
+	private RuntimeStubs() {}
+
+	static List<JavaFileObject> sources() {
+		return List.of(
+				JavaFileObjects.forSourceString("io.github.itech_framework.java_fx.annotations.FxController", """
+						package io.github.itech_framework.java_fx.annotations;
+
+						public @interface FxController {
+						    String fxml() default "";
+						}
+						"""),
+				JavaFileObjects.forSourceString("io.github.itech_framework.java_fx.annotations.components.FxComponent", """
+						package io.github.itech_framework.java_fx.annotations.components;
+
+						public @interface FxComponent {
+						    String value() default "";
+						}
+						"""),
+				JavaFileObjects.forSourceString("io.github.itech_framework.java_fx.loader.compiled.FxmlBuilder", """
+						package io.github.itech_framework.java_fx.loader.compiled;
+
+						public interface FxmlBuilder {
+						    String fxmlPath();
+						    Object createController() throws Exception;
+						    Object build(Object controller) throws Exception;
+						}
+						"""),
+				JavaFileObjects.forSourceString("io.github.itech_framework.java_fx.loader.compiled.FxmlBuilderSupport", """
+						package io.github.itech_framework.java_fx.loader.compiled;
+
+						public final class FxmlBuilderSupport {
+						    public static Object newInstance(Class<?> type) throws Exception {
+						        return null;
+						    }
+						    public static void inject(Object controller, String fxId, Object value) {
+						    }
+						    public static <T extends javafx.event.Event> javafx.event.EventHandler<T> handler(
+						            Object controller, String methodName) {
+						        return null;
+						    }
+						    public static void initialize(Object controller, Class<?> contextClass, String fxmlPath) {
+						    }
+						}
+						"""));
+	}
+}
@@ -2,7 +2,10 @@ package io.github.itech_framework.java_fx;
 
 import javafx.application.Application;
 import javafx.application.Platform;
+import javafx.collections.ListChangeListener;
 import javafx.stage.Stage;
+import javafx.stage.Window;
+import javafx.stage.WindowEvent;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import io.github.itech_framework.core.annotations.jfx.EnableJavaFx;
@@ -11,27 +14,106 @@ import io.github.itech_framework.core.store.ComponentStore;
 import io.github.itech_framework.core.exceptions.FrameworkException;
 import io.github.itech_framework.java_fx.processor.JavaFxComponentProcessor;
 import io.github.itech_framework.java_fx.router.Router;
+import io.github.itech_framework.java_fx.utils.concurrent.BackgroundTaskService;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 
 public abstract class ITechJavaFxApplication extends Application {
     private static final Logger logger = LogManager.getLogger(ITechJavaFxApplication.class);
     public static final Router router = new Router();
 
+    private static final StartupMetrics startupMetrics = new StartupMetrics();
+    // component initialization, running while the FX toolkit starts
+    private static volatile CompletableFuture<Void> componentInitialization = CompletableFuture.completedFuture(null);
+    private static volatile long launchStarted = System.nanoTime();
+
     public static void run(Class<? extends ITechJavaFxApplication> clazz, String[] args) throws Exception {
 
         if(!clazz.isAnnotationPresent(EnableJavaFx.class)){
             throw new FrameworkException("To run JavaFx application please use the @EnableJavaFx on main class!");
         }
-        JavaFxComponentProcessor.initializeFxControllers(clazz);
-        Application.launch(clazz, args);
+        startupMetrics.begin();
+        componentInitialization = CompletableFuture.runAsync(() -> {
+            long start = System.nanoTime();
+            try {
+                JavaFxComponentProcessor.initializeFxControllers(clazz);
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+            startupMetrics.record("components", start);
+        }, task -> {
+            Thread thread = new Thread(task, "itech-startup");
+            thread.setDaemon(true);
+            thread.start();
+        });
+
+        launchStarted = System.nanoTime();
+        try {
+            Application.launch(clazz, args);
+        } catch (RuntimeException e) {
+            // report a failed initialization as run() did before launching in parallel
+            awaitComponents();
+            throw e;
+        }
+    }
+
+    public static StartupMetrics getStartupMetrics() {
+        return startupMetrics;
     }
 
     @Override
     public final void init() throws Exception {
+        // the toolkit is up once init() runs
+        startupMetrics.record("toolkit", launchStarted);
+        long start = System.nanoTime();
+        awaitComponents();
+        startupMetrics.record("componentWait", start);
+
+        start = System.nanoTime();
         ComponentProcessor.injectFields(getClass(), this);
         ComponentProcessor.injectMethods(getClass(), this, ComponentProcessor.PRESENTATION_LEVEL);
         onInit();
         // register router inside the components
         ComponentStore.registerComponent(Router.class.getName(), router, ComponentProcessor.DEFAULT_LEVEL);
+        startupMetrics.record("init", start);
+
+        // routes are registered in onInit, read their FXML while start() runs
+        long warmup = System.nanoTime();
+        router.warmTemplates(getClass()).thenRun(() -> startupMetrics.record("templates", warmup));
+        Platform.runLater(ITechJavaFxApplication::watchFirstWindow);
+    }
+
+    private static void awaitComponents() throws Exception {
+        try {
+            componentInitialization.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException && e.getCause().getCause() != null
+                    ? e.getCause().getCause() : e.getCause();
+            if (cause instanceof Exception exception) {
+                throw exception;
+            }
+            throw e;
+        }
+    }
+
+    private static void watchFirstWindow() {
+        ListChangeListener<Window> listener = new ListChangeListener<>() {
+            @Override
+            public void onChanged(Change<? extends Window> change) {
+                while (change.next()) {
+                    for (Window window : change.getAddedSubList()) {
+                        ListChangeListener<Window> self = this;
+                        window.addEventHandler(WindowEvent.WINDOW_SHOWN, event -> {
+                            startupMetrics.firstFrame();
+                            Window.getWindows().removeListener(self);
+                        });
+                    }
+                }
+            }
+        };
+        Window.getWindows().addListener(listener);
     }
 
     protected abstract void onInit() throws Exception;
@@ -42,7 +124,11 @@ public abstract class ITechJavaFxApplication extends Application {
     @Override
     public void stop() throws Exception {
         logger.debug("Framework resources is cleaning up...");
+        if (BackgroundTaskService.isStarted()) {
+            // finish queued work such as saves before the JVM exits
+            BackgroundTaskService.getInstance().shutdown();
+        }
         Platform.exit();
         System.exit(0);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,59 @@
+package io.github.itech_framework.java_fx;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Wall-clock timing of the startup phases run by {@link ITechJavaFxApplication}. Phases
+ * overlap, so their durations do not add up to the time to first frame.
+ */
+public class StartupMetrics {
+    private static final Logger logger = LogManager.getLogger(StartupMetrics.class);
+
+    private final Map<String, Duration> phases = Collections.synchronizedMap(new LinkedHashMap<>());
+    private volatile long origin = System.nanoTime();
+    private volatile Duration timeToFirstFrame;
+
+    void begin() {
+        origin = System.nanoTime();
+        phases.clear();
+        timeToFirstFrame = null;
+    }
+
+    /**
+     * Records a phase that started at {@code startNanos} ({@link System#nanoTime()}) and ends now.
+     */
+    void record(String phase, long startNanos) {
+        Duration duration = Duration.ofNanos(System.nanoTime() - startNanos);
+        phases.put(phase, duration);
+        logger.debug("Startup phase {} took {} ms", phase, duration.toMillis());
+    }
+
+    void firstFrame() {
+        if (timeToFirstFrame == null) {
+            timeToFirstFrame = Duration.ofNanos(System.nanoTime() - origin);
+            logger.info("First window shown {} ms after launch {}", timeToFirstFrame.toMillis(), getPhases());
+        }
+    }
+
+    /**
+     * @return phase name to duration, in completion order
+     */
+    public Map<String, Duration> getPhases() {
+        synchronized (phases) {
+            return new LinkedHashMap<>(phases);
+        }
+    }
+
+    /**
+     * @return time from {@code run} to the first window being shown, or {@code null} before that
+     */
+    public Duration getTimeToFirstFrame() {
+        return timeToFirstFrame;
+    }
+}
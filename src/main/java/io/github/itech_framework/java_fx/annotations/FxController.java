@@ -15,4 +15,9 @@ import java.lang.annotation.Target;
 @IgnoreInterfaces
 @DisableLoaded
 public @interface FxController {
+    /**
+     * Optional classpath path of the FXML file using this controller. Declaring it lets the
+     * {@code java-fx-compiler} annotation processor compile the file at build time.
+     */
+    String fxml() default "";
 }
@@ -1,18 +1,62 @@
 package io.github.itech_framework.java_fx.events;
 
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
 
 public class EventBus {
-    private static final Map<String, Map<String, Consumer<Object>>> listeners = new HashMap<>();
+    // Writers update a channel inside compute() so an emptied channel can be dropped
+    // without losing a concurrent subscribe; publishers only read the channel array.
+    private static final Map<String, EventChannel> channels = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, EventChannel> typedChannels = new ConcurrentHashMap<>();
+    // listeners of an event class and all its supertypes, valid while the version matches
+    private static final Map<Class<?>, ResolvedListeners> resolvedListeners = new ConcurrentHashMap<>();
+    private static final AtomicLong typedVersion = new AtomicLong();
+    // String or Class event type -> retained events
+    private static final Map<Object, ReplayBuffer> replayBuffers = new ConcurrentHashMap<>();
+    // Node owners with a scene listener, and those of them currently out of a scene
+    private static final Set<Node> nodeOwners = Collections.newSetFromMap(new WeakHashMap<>());
+    private static final Set<Node> detachedOwners = Collections.newSetFromMap(new WeakHashMap<>());
+    private static final ChangeListener<Scene> NODE_OWNER_SCENE = (observable, oldScene, newScene) -> {
+        Node node = (Node) ((ReadOnlyProperty<?>) observable).getBean();
+        synchronized (nodeOwners) {
+            if (newScene != null) {
+                detachedOwners.remove(node);
+                return;
+            }
+            detachedOwners.add(node);
+        }
+        releaseDetachedOwners();
+    };
+    private static final AtomicBoolean ownerSweepScheduled = new AtomicBoolean();
+    private static volatile Predicate<Node> nodeRetention = node -> false;
+    private static volatile EventDispatcher dispatcher;
+    private static volatile KeyedDispatcher keyedDispatcher;
 
     /**
      * Subscribe a listener with a unique ID
@@ -22,11 +66,27 @@ public class EventBus {
     }
 
     /**
-     * Subscribe a listener with a specific ID
+     * Subscribe a listener with a specific ID, replacing any listener with the same ID
      */
     public static String subscribe(String eventType, String listenerId, Consumer<Object> listener) {
-        unsubscribe(eventType, listenerId);
-    	listeners.computeIfAbsent(eventType, k -> new HashMap<>()).put(listenerId, listener);
+        return subscribe(eventType, listenerId, listener, new SubscribeOptions());
+    }
+
+    /**
+     * Subscribe a listener with delivery options
+     */
+    public static String subscribe(String eventType, Consumer<Object> listener, SubscribeOptions options) {
+        return subscribe(eventType, UUID.randomUUID().toString(), listener, options);
+    }
+
+    public static String subscribe(String eventType, String listenerId, Consumer<Object> listener,
+                                   SubscribeOptions options) {
+        Subscription subscription = new Subscription(eventType, listenerId, listener, options);
+        register(eventType, subscription, options, () -> channels.compute(eventType, (type, channel) -> {
+            EventChannel target = channel != null ? channel : new EventChannel(EventBusMetrics.of(type));
+            target.add(subscription);
+            return target;
+        }));
         return listenerId;
     }
 
@@ -34,68 +94,57 @@ public class EventBus {
      * Unsubscribe using ID
      */
     public static boolean unsubscribe(String eventType, String listenerId) {
-        Map<String, Consumer<Object>> eventListeners = listeners.get(eventType);
-        if (eventListeners != null) {
-            return eventListeners.remove(listenerId) != null;
-        }
-        return false;
+        boolean[] removed = new boolean[1];
+        channels.computeIfPresent(eventType, (type, channel) -> {
+            removed[0] = channel.remove(listenerId);
+            return channel.isEmpty() ? null : channel;
+        });
+        return removed[0];
     }
 
     /**
      * Unsubscribe a specific listener from all event types
      */
     public static void unsubscribeFromAll(Consumer<Object> listener) {
-        for (Map<String, Consumer<Object>> eventListeners : listeners.values()) {
-            eventListeners.values().removeIf(l -> l == listener);
+        removeIf(subscription -> subscription.listener() == listener);
+    }
+
+    /**
+     * Remove every subscription bound to {@code owner} with {@link SubscribeOptions#withOwner(Object)}
+     *
+     * @return the number of removed subscriptions
+     */
+    public static int unsubscribeOwner(Object owner) {
+        if (owner == null) {
+            return 0;
         }
+        return removeIf(subscription -> subscription.isOwnedBy(owner));
     }
 
     /**
      * Unsubscribe all listeners from a specific event type
      */
     public static void unsubscribeAll(String eventType) {
-        listeners.remove(eventType);
+        channels.remove(eventType);
     }
 
     /**
      * Publish an event to all subscribed listeners
      */
     public static void publish(String eventType, Object data) {
-        Map<String, Consumer<Object>> eventListeners = listeners.get(eventType);
-        if (eventListeners != null) {
-            // Create a copy of values to avoid ConcurrentModificationException
-            List<Consumer<Object>> listenersCopy = new ArrayList<>(eventListeners.values());
-            listenersCopy.forEach(listener -> {
-                try {
-                    listener.accept(data);
-                } catch (Exception e) {
-                    // Log the error but continue with other listeners
-                    System.err.println("Error in event listener for event: " + eventType);
-                    e.printStackTrace();
-                }
-            });
+        // the array is never modified once published, iterating it needs no copy
+        for (Subscription subscription : subscriptionsFor(eventType, data)) {
+            subscription.deliver(data);
         }
     }
 
     /**
-     * Publish an event asynchronously
+     * Publish an event asynchronously on the {@link #getDispatcher() dispatcher}
      */
     public static void publishAsync(String eventType, Object data) {
-        Map<String, Consumer<Object>> eventListeners = listeners.get(eventType);
-        if (eventListeners != null) {
-            // Create a copy of values to avoid ConcurrentModificationException
-            List<Consumer<Object>> listenersCopy = new ArrayList<>(eventListeners.values());
-            listenersCopy.forEach(listener -> {
-                // Execute each listener in a separate thread
-                new Thread(() -> {
-                    try {
-                        listener.accept(data);
-                    } catch (Exception e) {
-                        System.err.println("Error in async event listener for event: " + eventType);
-                        e.printStackTrace();
-                    }
-                }).start();
-            });
+        Subscription[] subscriptions = subscriptionsFor(eventType, data);
+        if (subscriptions.length > 0) {
+            dispatch(subscriptions, data, getDispatcher()::dispatch);
         }
     }
 
@@ -103,20 +152,524 @@ public class EventBus {
      * Publish an event asynchronously using ExecutorService
      */
     public static void publishAsync(String eventType, Object data, java.util.concurrent.ExecutorService executor) {
-        Map<String, Consumer<Object>> eventListeners = listeners.get(eventType);
-        if (eventListeners != null) {
-            // Create a copy of values to avoid ConcurrentModificationException
-            List<Consumer<Object>> listenersCopy = new ArrayList<>(eventListeners.values());
-            listenersCopy.forEach(listener -> {
-                executor.submit(() -> {
-                    try {
-                        listener.accept(data);
-                    } catch (Exception e) {
-                        System.err.println("Error in async event listener for event: " + eventType);
-                        e.printStackTrace();
-                    }
-                });
+        Subscription[] subscriptions = subscriptionsFor(eventType, data);
+        if (subscriptions.length > 0) {
+            dispatch(subscriptions, data, executor::execute);
+        }
+    }
+
+    /**
+     * Publish an event asynchronously, delivering events with equal {@code key} strictly in
+     * publishing order, e.g. all updates of one table row. Events with different keys are
+     * delivered in parallel on the {@link #getKeyedDispatcher() keyed dispatcher}.
+     */
+    public static void publishOrdered(String eventType, Object key, Object data) {
+        Subscription[] subscriptions = subscriptionsFor(eventType, data);
+        if (subscriptions.length > 0) {
+            dispatchOrdered(subscriptions, key, data);
+        }
+    }
+
+    private static void dispatchOrdered(Subscription[] subscriptions, Object key, Object data) {
+        boolean onLane = false;
+        for (Subscription subscription : subscriptions) {
+            if (subscription.fxThread()) {
+                // the FX queue is ordered as well
+                subscription.deliver(data);
+            } else {
+                onLane = true;
+            }
+        }
+        if (!onLane) {
+            return;
+        }
+        // one task per event keeps the order for every listener of the key
+        getKeyedDispatcher().execute(key, () -> {
+            for (Subscription subscription : subscriptions) {
+                if (!subscription.fxThread()) {
+                    subscription.invoke(data);
+                }
+            }
+        });
+    }
+
+    private static final Subscription[] NO_SUBSCRIPTIONS = new Subscription[0];
+
+    /**
+     * Counts the event, retains it when replay is enabled for the type and returns its listeners.
+     */
+    private static Subscription[] subscriptionsFor(String eventType, Object data) {
+        ReplayBuffer buffer = replayBuffers.get(eventType);
+        if (buffer != null) {
+            Subscription[] subscriptions = buffer.record(data, () -> channelSubscriptions(eventType));
+            if (EventBusMetrics.isEnabled()) {
+                countPublished(channels.get(eventType), eventType);
+            }
+            return subscriptions;
+        }
+        EventChannel channel = channels.get(eventType);
+        if (EventBusMetrics.isEnabled()) {
+            countPublished(channel, eventType);
+        }
+        return channel != null ? channel.subscriptions() : NO_SUBSCRIPTIONS;
+    }
+
+    private static Subscription[] channelSubscriptions(String eventType) {
+        EventChannel channel = channels.get(eventType);
+        return channel != null ? channel.subscriptions() : NO_SUBSCRIPTIONS;
+    }
+
+    private static void countPublished(EventChannel channel, String eventType) {
+        // without a channel only types that had listeners before are counted
+        EventTypeMetrics metrics = channel != null ? channel.metrics() : EventBusMetrics.existing(eventType);
+        if (metrics != null) {
+            metrics.published();
+        }
+    }
+
+    private static Subscription[] subscriptionsFor(Object event) {
+        Class<?> eventClass = event.getClass();
+        ReplayBuffer buffer = replayBuffers.get(eventClass);
+        Subscription[] subscriptions;
+        EventTypeMetrics metrics;
+        if (buffer != null) {
+            subscriptions = buffer.record(event, () -> listenersOf(eventClass));
+            metrics = EventBusMetrics.isEnabled() ? resolvedListenersOf(eventClass).metrics() : null;
+        } else {
+            ResolvedListeners resolved = resolvedListenersOf(eventClass);
+            subscriptions = resolved.subscriptions();
+            metrics = resolved.metrics();
+        }
+        if (metrics != null && EventBusMetrics.isEnabled()) {
+            metrics.published();
+        }
+        return subscriptions;
+    }
+
+    /**
+     * Adds the subscription, replaying retained events when requested.
+     */
+    private static void register(Object eventType, Subscription subscription, SubscribeOptions options,
+                                 Runnable add) {
+        ReplayBuffer buffer = options.replay() > 0 ? replayBuffers.get(eventType) : null;
+        if (buffer == null) {
+            add.run();
+            bindToOwner(options.owner());
+            return;
+        }
+        buffer.subscribe(add, options.replay(), subscription::deliver);
+        bindToOwner(options.owner());
+    }
+
+    private static void dispatch(Subscription[] subscriptions, Object data, Executor executor) {
+        for (Subscription subscription : subscriptions) {
+            if (subscription.fxThread()) {
+                // already asynchronous, skip the extra hop
+                subscription.deliver(data);
+            } else {
+                executor.execute(() -> subscription.invoke(data));
+            }
+        }
+    }
+
+    /**
+     * Subscribe a typed listener; it also receives events of subclasses and implementations
+     * of {@code eventClass}
+     */
+    public static <E> String subscribe(Class<E> eventClass, Consumer<? super E> listener) {
+        return subscribe(eventClass, UUID.randomUUID().toString(), listener);
+    }
+
+    /**
+     * Subscribe a typed listener with a specific ID, replacing any listener with the same ID
+     */
+    public static <E> String subscribe(Class<E> eventClass, String listenerId, Consumer<? super E> listener) {
+        return subscribe(eventClass, listenerId, listener, new SubscribeOptions());
+    }
+
+    /**
+     * Subscribe a typed listener with delivery options
+     */
+    public static <E> String subscribe(Class<E> eventClass, Consumer<? super E> listener, SubscribeOptions options) {
+        return subscribe(eventClass, UUID.randomUUID().toString(), listener, options);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E> String subscribe(Class<E> eventClass, String listenerId, Consumer<? super E> listener,
+                                       SubscribeOptions options) {
+        // only instances of eventClass are delivered to the listener
+        Subscription subscription = new Subscription(eventClass, listenerId, (Consumer<Object>) listener, options);
+        register(eventClass, subscription, options, () -> {
+            typedChannels.compute(eventClass, (type, channel) -> {
+                EventChannel target = channel != null ? channel : new EventChannel(EventBusMetrics.of(type));
+                target.add(subscription);
+                return target;
             });
+            typedVersion.incrementAndGet();
+        });
+        return listenerId;
+    }
+
+    public static boolean unsubscribe(Class<?> eventClass, String listenerId) {
+        boolean[] removed = new boolean[1];
+        typedChannels.computeIfPresent(eventClass, (type, channel) -> {
+            removed[0] = channel.remove(listenerId);
+            return channel.isEmpty() ? null : channel;
+        });
+        typedVersion.incrementAndGet();
+        return removed[0];
+    }
+
+    /**
+     * Publish a typed event to the listeners of its class and of every supertype
+     */
+    public static void publish(Object event) {
+        for (Subscription subscription : subscriptionsFor(event)) {
+            subscription.deliver(event);
+        }
+    }
+
+    /**
+     * Publish a typed event asynchronously on the {@link #getDispatcher() dispatcher}
+     */
+    public static void publishAsync(Object event) {
+        Subscription[] subscriptions = subscriptionsFor(event);
+        if (subscriptions.length > 0) {
+            dispatch(subscriptions, event, getDispatcher()::dispatch);
+        }
+    }
+
+    /**
+     * Publish a typed event asynchronously, in order with other events of the same {@code key}
+     *
+     * @see #publishOrdered(String, Object, Object)
+     */
+    public static void publishOrdered(Object key, Object event) {
+        Subscription[] subscriptions = subscriptionsFor(event);
+        if (subscriptions.length > 0) {
+            dispatchOrdered(subscriptions, key, event);
+        }
+    }
+
+    public static int getListenerCount(Class<?> eventClass) {
+        return listenersOf(eventClass).length;
+    }
+
+    private static Subscription[] listenersOf(Class<?> eventClass) {
+        return resolvedListenersOf(eventClass).subscriptions();
+    }
+
+    private static ResolvedListeners resolvedListenersOf(Class<?> eventClass) {
+        long version = typedVersion.get();
+        ResolvedListeners resolved = resolvedListeners.get(eventClass);
+        if (resolved != null && resolved.version() == version) {
+            return resolved;
+        }
+        // a subscription changing meanwhile bumps the version, so this entry is recomputed next time
+        Subscription[] subscriptions = resolve(eventClass);
+        resolved = new ResolvedListeners(version, subscriptions, subscriptions.length > 0
+                ? EventBusMetrics.of(eventClass) : EventBusMetrics.existing(eventClass));
+        resolvedListeners.put(eventClass, resolved);
+        return resolved;
+    }
+
+    /**
+     * Listeners of the class first, then of its superclasses, then of its interfaces.
+     */
+    private static Subscription[] resolve(Class<?> eventClass) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        for (Class<?> type = eventClass; type != null; type = type.getSuperclass()) {
+            types.add(type);
+        }
+        Deque<Class<?>> pending = new ArrayDeque<>(types);
+        while (!pending.isEmpty()) {
+            for (Class<?> implemented : pending.poll().getInterfaces()) {
+                if (types.add(implemented)) {
+                    pending.add(implemented);
+                }
+            }
+        }
+
+        List<Subscription> subscriptions = new ArrayList<>();
+        for (Class<?> type : types) {
+            EventChannel channel = typedChannels.get(type);
+            if (channel != null) {
+                Collections.addAll(subscriptions, channel.subscriptions());
+            }
+        }
+        return subscriptions.toArray(new Subscription[0]);
+    }
+
+    /**
+     * @param metrics where publishes of the class are counted, {@code null} while it has no entry
+     */
+    private record ResolvedListeners(long version, Subscription[] subscriptions, EventTypeMetrics metrics) {
+    }
+
+    /**
+     * Retain the latest {@code maxEvents} events of the type for subscribers using
+     * {@link SubscribeOptions#withReplay(int)}
+     */
+    public static void enableReplay(String eventType, int maxEvents) {
+        replayBuffers.put(eventType, new ReplayBuffer(maxEvents, Long.MAX_VALUE, null));
+    }
+
+    /**
+     * Retain at most {@code maxEvents} events of the type whose total {@code weigher} estimate,
+     * e.g. bytes or rows, stays within {@code maxWeight}; the latest event is always kept
+     */
+    public static void enableReplay(String eventType, int maxEvents, long maxWeight, ToLongFunction<Object> weigher) {
+        replayBuffers.put(eventType, new ReplayBuffer(maxEvents, maxWeight, Objects.requireNonNull(weigher)));
+    }
+
+    /**
+     * Retain the latest typed events published with exactly this class
+     */
+    public static void enableReplay(Class<?> eventClass, int maxEvents) {
+        replayBuffers.put(eventClass, new ReplayBuffer(maxEvents, Long.MAX_VALUE, null));
+    }
+
+    public static void enableReplay(Class<?> eventClass, int maxEvents, long maxWeight, ToLongFunction<Object> weigher) {
+        replayBuffers.put(eventClass, new ReplayBuffer(maxEvents, maxWeight, Objects.requireNonNull(weigher)));
+    }
+
+    public static void disableReplay(String eventType) {
+        replayBuffers.remove(eventType);
+    }
+
+    public static void disableReplay(Class<?> eventClass) {
+        replayBuffers.remove(eventClass);
+    }
+
+    /**
+     * Publish an event and keep it for later subscribers using {@link SubscribeOptions#withReplay()}.
+     * Enables replay of the latest event for the type unless replay is already enabled.
+     */
+    public static void publishSticky(String eventType, Object data) {
+        replayBuffers.computeIfAbsent(eventType, type -> new ReplayBuffer(1, Long.MAX_VALUE, null));
+        publish(eventType, data);
+    }
+
+    public static void publishSticky(Object event) {
+        replayBuffers.computeIfAbsent(event.getClass(), type -> new ReplayBuffer(1, Long.MAX_VALUE, null));
+        publish(event);
+    }
+
+    /**
+     * @return the latest retained event of the type
+     */
+    public static Optional<Object> getSticky(String eventType) {
+        return latestRetained(eventType);
+    }
+
+    public static <E> Optional<E> getSticky(Class<E> eventClass) {
+        return latestRetained(eventClass).map(eventClass::cast);
+    }
+
+    private static Optional<Object> latestRetained(Object eventType) {
+        ReplayBuffer buffer = replayBuffers.get(eventType);
+        if (buffer == null) {
+            return Optional.empty();
+        }
+        List<Object> latest = buffer.latest(1);
+        return latest.isEmpty() ? Optional.empty() : Optional.ofNullable(latest.get(0));
+    }
+
+    /**
+     * Drop the retained events of the type, keeping replay enabled
+     */
+    public static void clearRetained(String eventType) {
+        ReplayBuffer buffer = replayBuffers.get(eventType);
+        if (buffer != null) {
+            buffer.clear();
+        }
+    }
+
+    public static void clearRetained(Class<?> eventClass) {
+        ReplayBuffer buffer = replayBuffers.get(eventClass);
+        if (buffer != null) {
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Live subscriptions per owner class, or per listener class for subscriptions without an
+     * owner, largest first. Controllers that should be gone but still show up here are leaking.
+     */
+    public static Map<String, Integer> getSubscriptionReport() {
+        Map<String, Integer> counts = new HashMap<>();
+        List<EventChannel> all = new ArrayList<>(channels.values());
+        all.addAll(typedChannels.values());
+        for (EventChannel channel : all) {
+            for (Subscription subscription : channel.subscriptions()) {
+                Consumer<Object> listener = subscription.listener();
+                if (listener == null) {
+                    continue;
+                }
+                String name = subscription.ownerClass() != null ? subscription.ownerClass() : listener.getClass().getName();
+                counts.merge(name, 1, Integer::sum);
+            }
+        }
+        Map<String, Integer> report = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(entry -> report.put(entry.getKey(), entry.getValue()));
+        return report;
+    }
+
+    /**
+     * Removes a subscription whose listener or owner is gone.
+     */
+    static void remove(Subscription subscription) {
+        if (subscription.eventType() instanceof Class<?> eventClass) {
+            typedChannels.computeIfPresent(eventClass, (type, channel) -> {
+                channel.removeIf(candidate -> candidate == subscription);
+                return channel.isEmpty() ? null : channel;
+            });
+            typedVersion.incrementAndGet();
+        } else {
+            channels.computeIfPresent((String) subscription.eventType(), (type, channel) -> {
+                channel.removeIf(candidate -> candidate == subscription);
+                return channel.isEmpty() ? null : channel;
+            });
+        }
+    }
+
+    private static int removeIf(Predicate<Subscription> filter) {
+        int[] removed = new int[1];
+        for (String eventType : channels.keySet()) {
+            channels.computeIfPresent(eventType, (type, channel) -> {
+                removed[0] += channel.removeIf(filter);
+                return channel.isEmpty() ? null : channel;
+            });
+        }
+        for (Class<?> eventClass : typedChannels.keySet()) {
+            typedChannels.computeIfPresent(eventClass, (type, channel) -> {
+                removed[0] += channel.removeIf(filter);
+                return channel.isEmpty() ? null : channel;
+            });
+        }
+        typedVersion.incrementAndGet();
+        return removed[0];
+    }
+
+    /**
+     * Watches the scene of a {@code Node} owner so its subscriptions end once it has left the
+     * scene and is not retained, see {@link #setNodeRetention(Predicate)}.
+     */
+    private static void bindToOwner(Object owner) {
+        if (!(owner instanceof Node node)) {
+            return;
+        }
+        synchronized (nodeOwners) {
+            if (nodeOwners.add(node)) {
+                node.sceneProperty().addListener(NODE_OWNER_SCENE);
+            }
+        }
+    }
+
+    /**
+     * Tells the bus which nodes are kept for reuse while out of a scene, e.g. views on the router's
+     * back stack or kept alive. Their {@code Node}-bound subscriptions survive the detach and end
+     * once the node is no longer retained, see {@link #releaseDetachedOwners()}.
+     */
+    public static void setNodeRetention(Predicate<Node> retention) {
+        nodeRetention = retention != null ? retention : node -> false;
+    }
+
+    /**
+     * Ends, on the next FX pulse, the subscriptions of {@code Node} owners that are out of their
+     * scene and no longer retained. Called when a node owner is detached and when the router
+     * drops a view.
+     */
+    public static void releaseDetachedOwners() {
+        if (ownerSweepScheduled.compareAndSet(false, true)) {
+            // runs after the navigation that detached the node has updated what it retains
+            Platform.runLater(EventBus::sweepDetachedOwners);
+        }
+    }
+
+    private static void sweepDetachedOwners() {
+        ownerSweepScheduled.set(false);
+        List<Node> candidates;
+        synchronized (nodeOwners) {
+            candidates = new ArrayList<>(detachedOwners);
+        }
+        Predicate<Node> retention = nodeRetention;
+        for (Node node : candidates) {
+            if (node.getScene() != null || retention.test(node)) {
+                continue;
+            }
+            synchronized (nodeOwners) {
+                detachedOwners.remove(node);
+                nodeOwners.remove(node);
+            }
+            node.sceneProperty().removeListener(NODE_OWNER_SCENE);
+            unsubscribeOwner(node);
+        }
+    }
+
+    /**
+     * The dispatcher used by {@link #publishAsync(String, Object)}, a bounded pool unless
+     * replaced with {@link #setDispatcher(EventDispatcher)}
+     */
+    public static EventDispatcher getDispatcher() {
+        EventDispatcher current = dispatcher;
+        if (current == null) {
+            synchronized (EventBus.class) {
+                current = dispatcher;
+                if (current == null) {
+                    current = EventDispatcher.bounded();
+                    dispatcher = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Replace the dispatcher; the previous one is shut down once its queued deliveries ran
+     */
+    public static void setDispatcher(EventDispatcher newDispatcher) {
+        EventDispatcher previous;
+        synchronized (EventBus.class) {
+            previous = dispatcher;
+            dispatcher = Objects.requireNonNull(newDispatcher);
+        }
+        if (previous != null && previous != newDispatcher) {
+            previous.shutdown();
+        }
+    }
+
+    /**
+     * The lanes used by {@code publishOrdered}, one per core unless replaced with
+     * {@link #setKeyedDispatcher(KeyedDispatcher)}
+     */
+    public static KeyedDispatcher getKeyedDispatcher() {
+        KeyedDispatcher current = keyedDispatcher;
+        if (current == null) {
+            synchronized (EventBus.class) {
+                current = keyedDispatcher;
+                if (current == null) {
+                    current = new KeyedDispatcher();
+                    keyedDispatcher = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Replace the keyed dispatcher; the previous one is shut down once its queued deliveries ran
+     */
+    public static void setKeyedDispatcher(KeyedDispatcher newDispatcher) {
+        KeyedDispatcher previous;
+        synchronized (EventBus.class) {
+            previous = keyedDispatcher;
+            keyedDispatcher = Objects.requireNonNull(newDispatcher);
+        }
+        if (previous != null && previous != newDispatcher) {
+            previous.shutdown();
         }
     }
 
@@ -124,41 +677,49 @@ public class EventBus {
      * Get the number of listeners subscribed to a specific event type
      */
     public static int getListenerCount(String eventType) {
-        Map<String, Consumer<Object>> eventListeners = listeners.get(eventType);
-        return eventListeners != null ? eventListeners.size() : 0;
+        EventChannel channel = channels.get(eventType);
+        return channel != null ? channel.subscriptions().length : 0;
     }
 
     /**
      * Check if there are any listeners subscribed to a specific event type
      */
     public static boolean hasListeners(String eventType) {
-        Map<String, Consumer<Object>> eventListeners = listeners.get(eventType);
-        return eventListeners != null && !eventListeners.isEmpty();
+        EventChannel channel = channels.get(eventType);
+        return channel != null && !channel.isEmpty();
     }
 
     /**
      * Get all listener IDs for a specific event type
      */
     public static Set<String> getListenerIds(String eventType) {
-        Map<String, Consumer<Object>> eventListeners = listeners.get(eventType);
-        return eventListeners != null ? new HashSet<>(eventListeners.keySet()) : Collections.emptySet();
+        EventChannel channel = channels.get(eventType);
+        if (channel == null) {
+            return Collections.emptySet();
+        }
+        Set<String> ids = new HashSet<>();
+        for (Subscription subscription : channel.subscriptions()) {
+            ids.add(subscription.id());
+        }
+        return ids;
     }
 
     /**
      * Check if a specific listener ID exists for an event type
      */
     public static boolean hasListener(String eventType, String listenerId) {
-        Map<String, Consumer<Object>> eventListeners = listeners.get(eventType);
-        return eventListeners != null && eventListeners.containsKey(listenerId);
+        EventChannel channel = channels.get(eventType);
+        return channel != null && channel.find(listenerId) != null;
     }
 
     /**
      * Get the listener for a specific ID
      */
     public static Optional<Consumer<Object>> getListener(String eventType, String listenerId) {
-        Map<String, Consumer<Object>> eventListeners = listeners.get(eventType);
-        if (eventListeners != null) {
-            return Optional.ofNullable(eventListeners.get(listenerId));
+        EventChannel channel = channels.get(eventType);
+        if (channel != null) {
+            Subscription subscription = channel.find(listenerId);
+            return subscription != null ? Optional.ofNullable(subscription.listener()) : Optional.empty();
         }
         return Optional.empty();
     }
@@ -167,13 +728,16 @@ public class EventBus {
      * Clear all event listeners from all event types
      */
     public static void clearAll() {
-        listeners.clear();
+        channels.clear();
+        typedChannels.clear();
+        resolvedListeners.clear();
+        typedVersion.incrementAndGet();
     }
 
     /**
      * Get all event types that have listeners
      */
     public static Set<String> getAllEventTypes() {
-        return new HashSet<>(listeners.keySet());
+        return new HashSet<>(channels.keySet());
     }
-}
\ No newline at end of file
+}
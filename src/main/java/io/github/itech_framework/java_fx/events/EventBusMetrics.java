@@ -0,0 +1,193 @@
+package io.github.itech_framework.java_fx.events;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per event type counters and listener latencies of {@link EventBus}, plus slow-listener
+ * detection. Listeners running longer than the threshold (one 60 Hz frame by default) are
+ * logged with their subscription id and listener or owner class.
+ *
+ * <p>Typed events count as published under their concrete class and as delivered under the
+ * class each listener subscribed to.</p>
+ */
+public final class EventBusMetrics {
+    private static final Logger logger = LogManager.getLogger(EventBusMetrics.class);
+    private static final String OBJECT_NAME = "io.github.itech_framework:type=EventBus";
+
+    /**
+     * Event types tracked separately; deliveries and publishes of further types are counted
+     * together under {@code (other types)}.
+     */
+    public static final int MAX_EVENT_TYPES = 1_000;
+
+    // String event type or EventClass -> metrics; entries are reset, never removed, so subscriptions
+    // can hold them. Types only get an entry once they have listeners, and at most MAX_EVENT_TYPES.
+    private static final Map<Object, EventTypeMetrics> metrics = new ConcurrentHashMap<>();
+    private static final EventTypeMetrics otherTypes = new EventTypeMetrics("(other types)");
+    private static volatile boolean overflowed;
+    private static volatile boolean enabled = true;
+    private static volatile long slowListenerThresholdNanos = Duration.ofMillis(16).toNanos();
+
+    private EventBusMetrics() {
+    }
+
+    static EventTypeMetrics of(Object eventType) {
+        Object key = key(eventType);
+        EventTypeMetrics typeMetrics = metrics.get(key);
+        if (typeMetrics != null) {
+            return typeMetrics;
+        }
+        if (metrics.size() >= MAX_EVENT_TYPES) {
+            if (!overflowed) {
+                overflowed = true;
+                logger.warn("More than {} event types, counting the rest as (other types)", MAX_EVENT_TYPES);
+            }
+            return otherTypes;
+        }
+        return metrics.computeIfAbsent(key, type -> new EventTypeMetrics(
+                type instanceof EventClass eventClass ? eventClass.name() : String.valueOf(type)));
+    }
+
+    /**
+     * @return the entry of a type that has or had listeners, or {@code null}; publishing computed
+     * type names without listeners does not grow the metrics
+     */
+    static EventTypeMetrics existing(Object eventType) {
+        return metrics.get(key(eventType));
+    }
+
+    // classes are kept by name so the metrics do not pin their class loader
+    private static Object key(Object eventType) {
+        return eventType instanceof Class<?> eventClass ? new EventClass(eventClass.getName()) : eventType;
+    }
+
+    private record EventClass(String name) {
+    }
+
+    static boolean isSlow(long nanos) {
+        return nanos >= slowListenerThresholdNanos;
+    }
+
+    static void logSlowListener(Subscription subscription, long nanos) {
+        logger.warn("Slow event listener {} ({}) took {} ms for {}", subscription.id(), subscription.describe(),
+                nanos / 1_000_000, subscription.eventType());
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turns counting and timing on or off; slow listeners are only detected while enabled.
+     */
+    public static void setEnabled(boolean enabled) {
+        EventBusMetrics.enabled = enabled;
+    }
+
+    public static Duration getSlowListenerThreshold() {
+        return Duration.ofNanos(slowListenerThresholdNanos);
+    }
+
+    public static void setSlowListenerThreshold(Duration threshold) {
+        slowListenerThresholdNanos = threshold.toNanos();
+    }
+
+    /**
+     * @return the metrics of every event type seen so far, busiest first
+     */
+    public static List<EventTypeStats> snapshot() {
+        List<EventTypeStats> stats = new ArrayList<>();
+        metrics.values().forEach(typeMetrics -> stats.add(typeMetrics.snapshot()));
+        if (overflowed) {
+            stats.add(otherTypes.snapshot());
+        }
+        stats.sort(Comparator.comparingLong(EventTypeStats::delivered).reversed());
+        return stats;
+    }
+
+    public static void reset() {
+        metrics.values().forEach(EventTypeMetrics::reset);
+        otherTypes.reset();
+    }
+
+    /**
+     * Exposes the metrics as the {@value #OBJECT_NAME} MXBean on the platform MBean server.
+     */
+    public static synchronized void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new MXBean(), name);
+            }
+        } catch (JMException e) {
+            logger.warn("Could not register the EventBus MXBean", e);
+        }
+    }
+
+    public static synchronized void unregisterMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            logger.warn("Could not unregister the EventBus MXBean", e);
+        }
+    }
+
+    private static final class MXBean implements EventBusMetricsMXBean {
+        @Override
+        public long getPublishedCount() {
+            return snapshot().stream().mapToLong(EventTypeStats::published).sum();
+        }
+
+        @Override
+        public long getDeliveredCount() {
+            return snapshot().stream().mapToLong(EventTypeStats::delivered).sum();
+        }
+
+        @Override
+        public long getFailedCount() {
+            return snapshot().stream().mapToLong(EventTypeStats::failed).sum();
+        }
+
+        @Override
+        public long getSlowListenerCount() {
+            return snapshot().stream().mapToLong(EventTypeStats::slowListeners).sum();
+        }
+
+        @Override
+        public long getSlowListenerThresholdMillis() {
+            return getSlowListenerThreshold().toMillis();
+        }
+
+        @Override
+        public void setSlowListenerThresholdMillis(long millis) {
+            setSlowListenerThreshold(Duration.ofMillis(millis));
+        }
+
+        @Override
+        public List<String> getEventTypeSummaries() {
+            return snapshot().stream().map(EventTypeStats::toString).toList();
+        }
+
+        @Override
+        public void reset() {
+            EventBusMetrics.reset();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package io.github.itech_framework.java_fx.events;
+
+import java.util.List;
+
+/**
+ * JMX view of {@link EventBusMetrics}, registered with {@link EventBusMetrics#registerMBean()}.
+ */
+public interface EventBusMetricsMXBean {
+    long getPublishedCount();
+
+    long getDeliveredCount();
+
+    long getFailedCount();
+
+    long getSlowListenerCount();
+
+    long getSlowListenerThresholdMillis();
+
+    void setSlowListenerThresholdMillis(long millis);
+
+    /**
+     * @return one line per event type, busiest first
+     */
+    List<String> getEventTypeSummaries();
+
+    void reset();
+}
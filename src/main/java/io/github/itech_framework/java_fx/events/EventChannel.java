@@ -0,0 +1,98 @@
+package io.github.itech_framework.java_fx.events;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * Listeners of one event type, kept in a copy-on-write array. Publishers read the array
+ * without locking or copying; {@link EventBus} serializes writers per channel.
+ */
+final class EventChannel {
+    private static final Subscription[] EMPTY = new Subscription[0];
+
+    private final EventTypeMetrics metrics;
+    private volatile Subscription[] subscriptions = EMPTY;
+
+    EventChannel(EventTypeMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * @return the metrics entry of the channel's event type, resolved once per channel
+     */
+    EventTypeMetrics metrics() {
+        return metrics;
+    }
+
+    Subscription[] subscriptions() {
+        return subscriptions;
+    }
+
+    /**
+     * Adds the subscription, replacing any subscription with the same id.
+     */
+    void add(Subscription subscription) {
+        Subscription[] current = subscriptions;
+        int index = indexOf(current, subscription.id());
+        Subscription[] next;
+        if (index >= 0) {
+            next = remove(current, index);
+            next = Arrays.copyOf(next, next.length + 1);
+        } else {
+            next = Arrays.copyOf(current, current.length + 1);
+        }
+        next[next.length - 1] = subscription;
+        subscriptions = next;
+    }
+
+    boolean remove(String id) {
+        Subscription[] current = subscriptions;
+        int index = indexOf(current, id);
+        if (index < 0) {
+            return false;
+        }
+        subscriptions = remove(current, index);
+        return true;
+    }
+
+    /**
+     * @return the number of removed subscriptions
+     */
+    int removeIf(Predicate<Subscription> filter) {
+        Subscription[] current = subscriptions;
+        Subscription[] next = Arrays.stream(current).filter(filter.negate()).toArray(Subscription[]::new);
+        if (next.length != current.length) {
+            subscriptions = next.length == 0 ? EMPTY : next;
+        }
+        return current.length - next.length;
+    }
+
+    Subscription find(String id) {
+        Subscription[] current = subscriptions;
+        int index = indexOf(current, id);
+        return index >= 0 ? current[index] : null;
+    }
+
+    boolean isEmpty() {
+        return subscriptions.length == 0;
+    }
+
+    private static int indexOf(Subscription[] subscriptions, String id) {
+        for (int i = 0; i < subscriptions.length; i++) {
+            if (subscriptions[i].id().equals(id)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Subscription[] remove(Subscription[] subscriptions, int index) {
+        if (subscriptions.length == 1) {
+            return EMPTY;
+        }
+        Subscription[] next = new Subscription[subscriptions.length - 1];
+        System.arraycopy(subscriptions, 0, next, 0, index);
+        System.arraycopy(subscriptions, index + 1, next, index, subscriptions.length - index - 1);
+        return next;
+    }
+}
@@ -0,0 +1,203 @@
+package io.github.itech_framework.java_fx.events;
+
+import io.github.itech_framework.java_fx.utils.concurrent.VirtualThreads;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs the listener deliveries of {@link EventBus#publishAsync(String, Object)}.
+ *
+ * <p>{@link #bounded(int, int, RejectionPolicy)} uses a fixed number of daemon threads and a
+ * bounded queue; {@link #virtualThreads(int, RejectionPolicy)} starts a virtual thread per
+ * delivery on JDK 21+, capped at a number of concurrent deliveries. Dispatch latency is the
+ * time a delivery waits between publishing and the start of the listener.</p>
+ */
+public class EventDispatcher {
+    private static final Logger logger = LogManager.getLogger(EventDispatcher.class);
+
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final RejectionPolicy rejectionPolicy;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder latencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    private EventDispatcher(ExecutorService executor, Semaphore permits, RejectionPolicy rejectionPolicy) {
+        this.executor = executor;
+        this.permits = permits;
+        this.rejectionPolicy = rejectionPolicy;
+    }
+
+    /**
+     * Default dispatcher: one thread per core (at least two), 10 000 queued deliveries,
+     * publishers run deliveries themselves once the queue is full.
+     */
+    public static EventDispatcher bounded() {
+        return bounded(Math.max(2, Runtime.getRuntime().availableProcessors()), 10_000, RejectionPolicy.CALLER_RUNS);
+    }
+
+    public static EventDispatcher bounded(int threads, int queueCapacity, RejectionPolicy rejectionPolicy) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), task -> {
+                    Thread thread = new Thread(task, "event-dispatch-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        EventDispatcher dispatcher = new EventDispatcher(executor, null, rejectionPolicy);
+        executor.setRejectedExecutionHandler(dispatcher.rejectionHandler());
+        return dispatcher;
+    }
+
+    /**
+     * Virtual thread per delivery, at most {@code maxConcurrent} deliveries at a time. Falls
+     * back to {@link #bounded()} sizing when the JDK has no virtual threads.
+     */
+    public static EventDispatcher virtualThreads(int maxConcurrent, RejectionPolicy rejectionPolicy) {
+        ExecutorService executor = VirtualThreads.newPerTaskExecutor();
+        if (executor == null) {
+            logger.info("Virtual threads are not available on this JDK, using a bounded event dispatcher");
+            return bounded(Math.max(2, Runtime.getRuntime().availableProcessors()), maxConcurrent, rejectionPolicy);
+        }
+        return new EventDispatcher(executor, new Semaphore(maxConcurrent), rejectionPolicy);
+    }
+
+    /**
+     * Schedules a delivery according to the dispatcher's limits and rejection policy.
+     */
+    public void dispatch(Runnable delivery) {
+        long queuedAt = System.nanoTime();
+        submitted.increment();
+        Runnable task = () -> {
+            recordStart(queuedAt);
+            delivery.run();
+        };
+
+        if (permits == null) {
+            executor.execute(task);
+            return;
+        }
+
+        if (!permits.tryAcquire()) {
+            reject(task);
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            reject(task);
+        }
+    }
+
+    private void recordStart(long queuedAt) {
+        long latency = System.nanoTime() - queuedAt;
+        started.increment();
+        latencyNanos.add(latency);
+        maxLatencyNanos.accumulateAndGet(latency, Math::max);
+    }
+
+    private RejectedExecutionHandler rejectionHandler() {
+        return (task, pool) -> {
+            if (rejectionPolicy == RejectionPolicy.DISCARD_OLDEST && !pool.isShutdown()) {
+                Runnable oldest = pool.getQueue().poll();
+                if (oldest != null) {
+                    dropped();
+                }
+                // the pool is saturated, so its workers exist; queue directly instead of re-entering execute
+                if (!pool.getQueue().offer(task)) {
+                    dropped();
+                }
+                return;
+            }
+            reject(task);
+        };
+    }
+
+    private void reject(Runnable task) {
+        switch (rejectionPolicy) {
+            case CALLER_RUNS -> {
+                if (executor.isShutdown()) {
+                    dropped();
+                } else {
+                    task.run();
+                }
+            }
+            case ABORT -> {
+                dropped();
+                throw new RejectedExecutionException("Event dispatcher is saturated");
+            }
+            default -> dropped();
+        }
+    }
+
+    private void dropped() {
+        rejected.increment();
+        // a dropped delivery never starts, keep the queue depth exact
+        started.increment();
+        logger.debug("Event delivery dropped by the dispatcher");
+    }
+
+    /**
+     * @return deliveries accepted but not yet started
+     */
+    public long getQueueDepth() {
+        return Math.max(0, submitted.sum() - started.sum());
+    }
+
+    public long getDispatchedCount() {
+        return started.sum() - rejected.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return mean time between publishing and the start of a delivery, in nanoseconds
+     */
+    public long getAverageDispatchLatencyNanos() {
+        long count = getDispatchedCount();
+        return count == 0 ? 0 : latencyNanos.sum() / count;
+    }
+
+    public long getMaxDispatchLatencyNanos() {
+        return maxLatencyNanos.get();
+    }
+
+    public RejectionPolicy getRejectionPolicy() {
+        return rejectionPolicy;
+    }
+
+    /**
+     * Stops accepting deliveries; queued deliveries still run.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+}
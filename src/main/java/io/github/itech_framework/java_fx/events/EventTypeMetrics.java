@@ -0,0 +1,82 @@
+package io.github.itech_framework.java_fx.events;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and listener latency histogram of one event type. Latencies are kept in
+ * power-of-two microsecond buckets, so percentiles are upper bounds within a factor of two.
+ */
+final class EventTypeMetrics {
+    private static final int BUCKETS = 40;
+
+    private final String eventType;
+    private final LongAdder published = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder slow = new LongAdder();
+    private final AtomicLongArray latencyBuckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    EventTypeMetrics(String eventType) {
+        this.eventType = eventType;
+    }
+
+    void published() {
+        published.increment();
+    }
+
+    void delivered(long nanos, boolean success, boolean slowListener) {
+        if (success) {
+            delivered.increment();
+        } else {
+            failed.increment();
+        }
+        if (slowListener) {
+            slow.increment();
+        }
+        long micros = nanos / 1_000;
+        int bucket = micros <= 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+        latencyBuckets.incrementAndGet(bucket);
+        maxLatencyNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    EventTypeStats snapshot() {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = latencyBuckets.get(i);
+            total += counts[i];
+        }
+        return new EventTypeStats(eventType, published.sum(), delivered.sum(), failed.sum(), slow.sum(),
+                percentile(counts, total, 0.50), percentile(counts, total, 0.99), maxLatencyNanos.get() / 1_000);
+    }
+
+    private static long percentile(long[] counts, long total, double fraction) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * fraction);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                // upper bound of the bucket
+                return i == 0 ? 1 : 1L << i;
+            }
+        }
+        return 1L << (counts.length - 1);
+    }
+
+    void reset() {
+        published.reset();
+        delivered.reset();
+        failed.reset();
+        slow.reset();
+        for (int i = 0; i < BUCKETS; i++) {
+            latencyBuckets.set(i, 0);
+        }
+        maxLatencyNanos.set(0);
+    }
+}
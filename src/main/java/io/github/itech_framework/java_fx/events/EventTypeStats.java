@@ -0,0 +1,15 @@
+package io.github.itech_framework.java_fx.events;
+
+/**
+ * Snapshot of the metrics of one event type. Latencies are listener run times in
+ * microseconds; percentiles are bucket upper bounds.
+ */
+public record EventTypeStats(String eventType, long published, long delivered, long failed, long slowListeners,
+                             long p50Micros, long p99Micros, long maxMicros) {
+
+    @Override
+    public String toString() {
+        return eventType + ": published=" + published + ", delivered=" + delivered + ", failed=" + failed
+                + ", slow=" + slowListeners + ", p50=" + p50Micros + "us, p99=" + p99Micros + "us, max=" + maxMicros + "us";
+    }
+}
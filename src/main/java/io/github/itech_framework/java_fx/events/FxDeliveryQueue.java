@@ -0,0 +1,46 @@
+package io.github.itech_framework.java_fx.events;
+
+import javafx.application.Platform;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Collects FX-thread deliveries and runs everything pending from one {@code Platform.runLater},
+ * so a burst of events costs a single FX runnable instead of one per event.
+ */
+final class FxDeliveryQueue {
+    private static final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger size = new AtomicInteger();
+    private static final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private FxDeliveryQueue() {
+    }
+
+    static void enqueue(Runnable delivery) {
+        pending.add(delivery);
+        size.incrementAndGet();
+        if (scheduled.compareAndSet(false, true)) {
+            Platform.runLater(FxDeliveryQueue::drain);
+        }
+    }
+
+    private static void drain() {
+        scheduled.set(false);
+        // only what was pending when the drain started, later events wait for the next runnable
+        int count = size.get();
+        for (int i = 0; i < count; i++) {
+            Runnable delivery = pending.poll();
+            if (delivery == null) {
+                break;
+            }
+            size.decrementAndGet();
+            delivery.run();
+        }
+        if (size.get() > 0 && scheduled.compareAndSet(false, true)) {
+            Platform.runLater(FxDeliveryQueue::drain);
+        }
+    }
+}
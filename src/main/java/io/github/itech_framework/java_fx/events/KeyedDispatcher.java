@@ -0,0 +1,85 @@
+package io.github.itech_framework.java_fx.events;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Striped serial lanes for {@link EventBus#publishOrdered(String, Object, Object)}. Deliveries
+ * with equal keys always use the same lane and run in publishing order; different keys spread
+ * over the lanes and run in parallel. Two keys sharing a lane also wait for each other.
+ *
+ * <p>Lane queues are unbounded so that ordering never depends on a rejection policy; watch
+ * {@link #getQueueDepth()} if publishers can outrun listeners.</p>
+ */
+public class KeyedDispatcher {
+    private final ThreadPoolExecutor[] lanes;
+
+    /**
+     * One lane per core.
+     */
+    public KeyedDispatcher() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public KeyedDispatcher(int laneCount) {
+        if (laneCount < 1) {
+            throw new IllegalArgumentException("laneCount must be positive: " + laneCount);
+        }
+        lanes = new ThreadPoolExecutor[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            String name = "event-lane-" + i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), task -> {
+                Thread thread = new Thread(task, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+            lanes[i].allowCoreThreadTimeOut(true);
+        }
+    }
+
+    public void execute(Object key, Runnable delivery) {
+        lanes[laneOf(key)].execute(delivery);
+    }
+
+    private int laneOf(Object key) {
+        int hash = key != null ? key.hashCode() : 0;
+        // spread the high bits, sequential ids would otherwise map to neighbouring lanes only
+        hash ^= hash >>> 16;
+        return Math.floorMod(hash, lanes.length);
+    }
+
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    /**
+     * @return deliveries waiting in all lanes
+     */
+    public int getQueueDepth() {
+        int depth = 0;
+        for (ThreadPoolExecutor lane : lanes) {
+            depth += lane.getQueue().size();
+        }
+        return depth;
+    }
+
+    /**
+     * Stops accepting deliveries; queued deliveries still run.
+     */
+    public void shutdown() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+    }
+
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (ThreadPoolExecutor lane : lanes) {
+            if (!lane.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
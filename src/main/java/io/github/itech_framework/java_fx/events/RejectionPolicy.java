@@ -0,0 +1,15 @@
+package io.github.itech_framework.java_fx.events;
+
+/**
+ * What an {@link EventDispatcher} does with a delivery when it is saturated.
+ */
+public enum RejectionPolicy {
+    /** Run the delivery on the publishing thread, slowing the publisher down. */
+    CALLER_RUNS,
+    /** Drop the delivery. */
+    DISCARD,
+    /** Drop the oldest queued delivery and queue this one. Same as {@link #DISCARD} without a queue. */
+    DISCARD_OLDEST,
+    /** Throw {@link java.util.concurrent.RejectedExecutionException} to the publisher. */
+    ABORT
+}
@@ -0,0 +1,75 @@
+package io.github.itech_framework.java_fx.events;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * The latest events of one type, bounded by count and optionally by an estimated weight.
+ * Publishing and subscribing with replay both go through the buffer lock, so a new subscriber
+ * receives every event exactly once: either replayed or delivered live.
+ */
+final class ReplayBuffer {
+    private final int maxEvents;
+    private final long maxWeight;
+    private final ToLongFunction<Object> weigher;
+    private final Deque<Entry> entries = new ArrayDeque<>();
+    private long totalWeight;
+
+    ReplayBuffer(int maxEvents, long maxWeight, ToLongFunction<Object> weigher) {
+        if (maxEvents < 1) {
+            throw new IllegalArgumentException("maxEvents must be positive: " + maxEvents);
+        }
+        this.maxEvents = maxEvents;
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    int maxEvents() {
+        return maxEvents;
+    }
+
+    /**
+     * Appends the event and returns the listeners it must be delivered to.
+     */
+    synchronized Subscription[] record(Object event, Supplier<Subscription[]> listeners) {
+        long weight = weigher != null ? weigher.applyAsLong(event) : 0;
+        entries.addLast(new Entry(event, weight));
+        totalWeight += weight;
+        while (entries.size() > maxEvents || (weigher != null && totalWeight > maxWeight && entries.size() > 1)) {
+            totalWeight -= entries.removeFirst().weight();
+        }
+        return listeners.get();
+    }
+
+    /**
+     * Registers a subscriber and hands it up to {@code count} latest events, oldest first. Both
+     * happen under the buffer lock, so no live event can reach the subscriber before its replay.
+     */
+    synchronized void subscribe(Runnable register, int count, Consumer<Object> replay) {
+        register.run();
+        latest(count).forEach(replay);
+    }
+
+    synchronized List<Object> latest(int count) {
+        List<Object> events = new ArrayList<>(Math.min(count, entries.size()));
+        Iterator<Entry> it = entries.descendingIterator();
+        while (it.hasNext() && events.size() < count) {
+            events.add(0, it.next().event());
+        }
+        return events;
+    }
+
+    synchronized void clear() {
+        entries.clear();
+        totalWeight = 0;
+    }
+
+    private record Entry(Object event, long weight) {
+    }
+}
@@ -0,0 +1,102 @@
+package io.github.itech_framework.java_fx.events;
+
+import java.util.function.Function;
+
+/**
+ * How a listener registered with {@link EventBus} receives its events. Options are read when
+ * subscribing; changing them afterwards does not affect existing subscriptions.
+ */
+public class SubscribeOptions {
+    private static final Function<Object, Object> SAME_KEY = event -> SubscribeOptions.class;
+
+    private boolean fxThread;
+    private Function<Object, ?> coalesceKey;
+    private boolean weak;
+    private Object owner;
+    private int replay;
+
+    /**
+     * Delivers events on the FX application thread. Events published between two FX pulses
+     * are delivered together from a single {@code Platform.runLater}, in publishing order.
+     */
+    public SubscribeOptions withFxThreadDelivery() {
+        this.fxThread = true;
+        return this;
+    }
+
+    /**
+     * Delivers only the latest event published since the previous FX delivery. Implies
+     * {@link #withFxThreadDelivery()}.
+     */
+    public SubscribeOptions withCoalescing() {
+        return withCoalescing(SAME_KEY);
+    }
+
+    /**
+     * Delivers only the latest event per key published since the previous FX delivery, e.g.
+     * the last tick per instrument. Implies {@link #withFxThreadDelivery()}.
+     */
+    public SubscribeOptions withCoalescing(Function<Object, ?> key) {
+        this.fxThread = true;
+        this.coalesceKey = key;
+        return this;
+    }
+
+    /**
+     * Holds the listener weakly; the subscription disappears once the listener is garbage
+     * collected. The caller must keep a strong reference to the listener, e.g. in a field of
+     * the controller, or a lambda may be collected right away.
+     */
+    public SubscribeOptions withWeakListener() {
+        this.weak = true;
+        return this;
+    }
+
+    /**
+     * Binds the subscription to an owner, which is referenced weakly. A {@code Node} owner
+     * ends the subscription when it is removed from its scene, unless the router keeps its view
+     * on the back stack or alive, in which case it ends when the router drops the view. Any
+     * owner can be released with {@link EventBus#unsubscribeOwner(Object)}, which the router
+     * does for controllers it discards.
+     */
+    public SubscribeOptions withOwner(Object owner) {
+        this.owner = owner;
+        return this;
+    }
+
+    /**
+     * Delivers the events retained for the type, oldest first, before live events. Only
+     * types with replay enabled on {@link EventBus} or published sticky retain events.
+     */
+    public SubscribeOptions withReplay() {
+        return withReplay(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Like {@link #withReplay()}, limited to the latest {@code lastEvents} events.
+     */
+    public SubscribeOptions withReplay(int lastEvents) {
+        this.replay = lastEvents;
+        return this;
+    }
+
+    public boolean fxThread() {
+        return fxThread;
+    }
+
+    public Function<Object, ?> coalesceKey() {
+        return coalesceKey;
+    }
+
+    public boolean weak() {
+        return weak;
+    }
+
+    public Object owner() {
+        return owner;
+    }
+
+    public int replay() {
+        return replay;
+    }
+}
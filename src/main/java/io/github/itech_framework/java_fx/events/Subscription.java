@@ -0,0 +1,143 @@
+package io.github.itech_framework.java_fx.events;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A listener registered on an {@link EventChannel}, with its delivery options.
+ */
+final class Subscription {
+    private static final Logger logger = LogManager.getLogger(Subscription.class);
+    // stands in for null keys and events, which the coalescing map cannot hold
+    private static final Object NULL = new Object();
+
+    private final Object eventType;
+    private final String id;
+    private final Consumer<Object> listener;
+    private final WeakReference<Consumer<Object>> weakListener;
+    private final WeakReference<Object> owner;
+    private final String ownerClass;
+    private final boolean fxThread;
+    private final Function<Object, ?> coalesceKey;
+    private final Map<Object, Object> latest;
+    private final EventTypeMetrics metrics;
+
+    Subscription(Object eventType, String id, Consumer<Object> listener, SubscribeOptions options) {
+        this.eventType = eventType;
+        this.id = id;
+        this.listener = options.weak() ? null : listener;
+        this.weakListener = options.weak() ? new WeakReference<>(listener) : null;
+        this.owner = options.owner() != null ? new WeakReference<>(options.owner()) : null;
+        this.ownerClass = options.owner() != null ? options.owner().getClass().getName() : null;
+        this.fxThread = options.fxThread();
+        this.coalesceKey = options.coalesceKey();
+        this.latest = coalesceKey != null ? new ConcurrentHashMap<>() : null;
+        this.metrics = EventBusMetrics.of(eventType);
+    }
+
+    /**
+     * @return the {@code String} or {@code Class} channel key
+     */
+    Object eventType() {
+        return eventType;
+    }
+
+    String id() {
+        return id;
+    }
+
+    /**
+     * @return the listener, or {@code null} once a weak listener was collected
+     */
+    Consumer<Object> listener() {
+        return weakListener != null ? weakListener.get() : listener;
+    }
+
+    boolean isOwnedBy(Object candidate) {
+        return owner != null && owner.get() == candidate;
+    }
+
+    /**
+     * @return the owner class, or {@code null} without an owner
+     */
+    String ownerClass() {
+        return ownerClass;
+    }
+
+    /**
+     * @return whether the subscription chooses its own thread, so async publishing must not
+     * hand it to a dispatcher
+     */
+    boolean fxThread() {
+        return fxThread;
+    }
+
+    /**
+     * Delivers on the calling thread, or queues for the FX thread when requested.
+     */
+    void deliver(Object event) {
+        if (!fxThread) {
+            invoke(event);
+        } else if (latest == null) {
+            FxDeliveryQueue.enqueue(() -> invoke(event));
+        } else {
+            Object key = coalesceKey.apply(event);
+            Object mapKey = key != null ? key : NULL;
+            // only the first event since the last delivery queues a runnable, later ones replace it
+            if (latest.put(mapKey, event != null ? event : NULL) == null) {
+                FxDeliveryQueue.enqueue(() -> {
+                    Object value = latest.remove(mapKey);
+                    invoke(value == NULL ? null : value);
+                });
+            }
+        }
+    }
+
+    void invoke(Object event) {
+        Consumer<Object> target = listener();
+        if (target == null) {
+            EventBus.remove(this);
+            return;
+        }
+        if (!EventBusMetrics.isEnabled()) {
+            accept(target, event);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean success = accept(target, event);
+        long nanos = System.nanoTime() - start;
+        boolean slow = EventBusMetrics.isSlow(nanos);
+        metrics.delivered(nanos, success, slow);
+        if (slow) {
+            EventBusMetrics.logSlowListener(this, nanos);
+        }
+    }
+
+    private boolean accept(Consumer<Object> target, Object event) {
+        try {
+            target.accept(event);
+            return true;
+        } catch (Exception e) {
+            // Log the error but continue with other listeners
+            logger.error("Error in event listener {} ({}) for event: {}", id, describe(), eventType, e);
+            return false;
+        }
+    }
+
+    /**
+     * @return the owner class, or the listener class for subscriptions without an owner
+     */
+    String describe() {
+        if (ownerClass != null) {
+            return ownerClass;
+        }
+        Consumer<Object> target = listener();
+        return target != null ? target.getClass().getName() : "collected listener";
+    }
+}
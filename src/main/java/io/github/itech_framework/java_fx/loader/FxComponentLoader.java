@@ -3,14 +3,22 @@ package io.github.itech_framework.java_fx.loader;
 import io.github.itech_framework.core.processor.components_processor.ComponentProcessor;
 import io.github.itech_framework.java_fx.annotations.components.FxComponent;
 import io.github.itech_framework.java_fx.annotations.components.Root;
+import io.github.itech_framework.java_fx.loader.cache.FxmlTemplate;
+import io.github.itech_framework.java_fx.loader.compiled.FxmlBuilder;
+import io.github.itech_framework.java_fx.loader.compiled.FxmlBuilders;
+import io.github.itech_framework.java_fx.processor.FxComponentIndex;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.IntStream;
 
 public class FxComponentLoader {
+    private static final Map<Class<?>, Field> rootFields = new ConcurrentHashMap<>();
+
     public static <T> T load(Class<T> clazz, Object... constructorArgs) {
         try {
             Constructor<T> constructor = findMatchingConstructor(clazz, constructorArgs);
@@ -22,9 +30,16 @@ public class FxComponentLoader {
                 String fxmlPath = annotation.value().isEmpty()
                         ? "/views/" + clazz.getSimpleName() + ".fxml"
                         : annotation.value();
-                FXMLLoader loader = new FXMLLoader(clazz.getResource(fxmlPath));
-                loader.setController(instance);
-                Parent fxmlRoot = loader.load();
+                Parent fxmlRoot;
+                FxmlBuilder builder = FxmlBuilders.find(clazz, fxmlPath);
+                if (builder != null) {
+                    fxmlRoot = (Parent) builder.build(instance);
+                } else {
+                    FxmlTemplate template = FxControllerLoader.getTemplateCache().get(clazz, fxmlPath);
+                    FXMLLoader loader = template.newLoader();
+                    loader.setController(instance);
+                    fxmlRoot = template.load(loader);
+                }
 
                 injectRootAnnotatedField(instance, fxmlRoot);
 
@@ -40,13 +55,31 @@ public class FxComponentLoader {
     }
 
     private static <T> void injectRootAnnotatedField(T controller, Parent root) {
-        Field[] fields = controller.getClass().getDeclaredFields();
-        Field rootField = null;
+        Field rootField = rootFields.computeIfAbsent(controller.getClass(), FxComponentLoader::findRootField);
+        try {
+            rootField.set(controller, root);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException("Failed to assign FXML root to @Root field", e);
+        }
+    }
 
-        for (Field field : fields) {
+    private static Field findRootField(Class<?> clazz) {
+        String indexed = FxComponentIndex.get().getRootField(clazz);
+        if (indexed != null) {
+            try {
+                Field field = clazz.getDeclaredField(indexed);
+                field.setAccessible(true);
+                return field;
+            } catch (NoSuchFieldException e) {
+                // stale index, scan the class instead
+            }
+        }
+
+        Field rootField = null;
+        for (Field field : clazz.getDeclaredFields()) {
             if (field.isAnnotationPresent(Root.class)) {
                 if (rootField != null) {
-                    throw new RuntimeException("Multiple fields annotated with @Root in " + controller.getClass().getName());
+                    throw new RuntimeException("Multiple fields annotated with @Root in " + clazz.getName());
                 }
 
                 if (!Parent.class.isAssignableFrom(field.getType())) {
@@ -58,15 +91,11 @@ public class FxComponentLoader {
         }
 
         if (rootField == null) {
-            throw new RuntimeException("No field annotated with @Root found in " + controller.getClass().getName());
+            throw new RuntimeException("No field annotated with @Root found in " + clazz.getName());
         }
 
         rootField.setAccessible(true);
-        try {
-            rootField.set(controller, root);
-        } catch (IllegalAccessException e) {
-            throw new RuntimeException("Failed to assign FXML root to @Root field", e);
-        }
+        return rootField;
     }
 
     @SuppressWarnings("unchecked")
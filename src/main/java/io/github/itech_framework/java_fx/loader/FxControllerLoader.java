@@ -6,32 +6,50 @@ import lombok.Getter;
 import lombok.Setter;
 import io.github.itech_framework.core.processor.components_processor.ComponentProcessor;
 import io.github.itech_framework.core.store.ComponentStore;
+import io.github.itech_framework.java_fx.loader.cache.EvictionPolicy;
+import io.github.itech_framework.java_fx.loader.cache.FxmlTemplate;
+import io.github.itech_framework.java_fx.loader.cache.FxmlTemplateCache;
+import io.github.itech_framework.java_fx.loader.compiled.FxmlBuilder;
+import io.github.itech_framework.java_fx.loader.compiled.FxmlBuilders;
 
 public class FxControllerLoader {
-    public static <T> T load(Class<?> contextClass, String fxmlPath) throws Exception {
-        FXMLLoader loader = new FXMLLoader(contextClass.getResource(fxmlPath));
-        T t = loader.load();
-        if(ComponentStore.getComponent(loader.getController().getClass()).isEmpty()){
-            throw new IllegalStateException("Controller not registered!");
-        }
-        
-        ComponentProcessor.injectFields(loader.getController().getClass(), loader.getController());
-        ComponentProcessor.injectMethods(loader.getController().getClass(), loader.getController(), ComponentProcessor.PRESENTATION_LEVEL);
+    private static final FxmlTemplateCache templateCache = new FxmlTemplateCache(EvictionPolicy.maxEntries(64));
 
-        return t;
+    public static <T> T load(Class<?> contextClass, String fxmlPath) throws Exception {
+        Result<T, ?> result = loadWithResult(contextClass, fxmlPath);
+        return result.getRoot();
     }
     
+    @SuppressWarnings("unchecked")
     public static <T, C> Result<T, C> loadWithResult(Class<C> contextClass, String fxmlPath) throws Exception {
-        FXMLLoader loader = new FXMLLoader(contextClass.getResource(fxmlPath));
-        T t = loader.load();
-        if(ComponentStore.getComponent(loader.getController().getClass()).isEmpty()){
+        T t;
+        C controller;
+        FxmlBuilder builder = FxmlBuilders.find(contextClass, fxmlPath);
+        if (builder != null) {
+            controller = (C) builder.createController();
+            t = (T) builder.build(controller);
+        } else {
+            FxmlTemplate template = templateCache.get(contextClass, fxmlPath);
+            FXMLLoader loader = template.newLoader();
+            t = template.load(loader);
+            controller = loader.getController();
+        }
+        if(ComponentStore.getComponent(controller.getClass()).isEmpty()){
             throw new IllegalStateException("Controller not registered!");
         }
         
-        ComponentProcessor.injectFields(loader.getController().getClass(), loader.getController());
-        ComponentProcessor.injectMethods(loader.getController().getClass(), loader.getController(), ComponentProcessor.PRESENTATION_LEVEL);
+        ComponentProcessor.injectFields(controller.getClass(), controller);
+        ComponentProcessor.injectMethods(controller.getClass(), controller, ComponentProcessor.PRESENTATION_LEVEL);
+
+        return new Result<T, C>(t, controller);
+    }
 
-        return new Result<T, C>(t, loader.getController());
+    /**
+     * Shared template cache used by the controller and component loaders.
+     * Call {@link FxmlTemplateCache#invalidate(String)} when an FXML file changes at runtime.
+     */
+    public static FxmlTemplateCache getTemplateCache() {
+        return templateCache;
     }
 
     @Getter
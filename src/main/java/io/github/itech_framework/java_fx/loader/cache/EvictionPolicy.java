@@ -0,0 +1,28 @@
+package io.github.itech_framework.java_fx.loader.cache;
+
+/**
+ * Decides when the least recently used template is dropped from a {@link FxmlTemplateCache}.
+ */
+@FunctionalInterface
+public interface EvictionPolicy {
+
+    /**
+     * @param eldest     the least recently used template
+     * @param entries    number of templates currently cached
+     * @param totalBytes combined size of all cached templates
+     * @return true to evict {@code eldest}
+     */
+    boolean shouldEvict(FxmlTemplate eldest, int entries, long totalBytes);
+
+    static EvictionPolicy never() {
+        return (eldest, entries, totalBytes) -> false;
+    }
+
+    static EvictionPolicy maxEntries(int maxEntries) {
+        return (eldest, entries, totalBytes) -> entries > maxEntries;
+    }
+
+    static EvictionPolicy maxBytes(long maxBytes) {
+        return (eldest, entries, totalBytes) -> totalBytes > maxBytes;
+    }
+}
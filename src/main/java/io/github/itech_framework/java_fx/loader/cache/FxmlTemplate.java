@@ -0,0 +1,63 @@
+package io.github.itech_framework.java_fx.loader.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+
+import javafx.fxml.FXMLLoader;
+
+/**
+ * A resolved FXML document held in memory so it can be instantiated many times
+ * without resolving the resource or reading it from the classpath again. Each load
+ * still parses the bytes with {@code FXMLLoader}; views compiled by the
+ * {@code java-fx-compiler} processor skip the template altogether.
+ */
+public final class FxmlTemplate {
+    private final String path;
+    private final URL location;
+    private final byte[] source;
+
+    FxmlTemplate(String path, URL location, byte[] source) {
+        this.path = path;
+        this.location = location;
+        this.source = source;
+    }
+
+    static FxmlTemplate read(Class<?> contextClass, String path) throws IOException {
+        URL location = contextClass.getResource(path);
+        if (location == null) {
+            throw new IllegalStateException("FXML resource not found: " + path);
+        }
+        try (InputStream in = location.openStream()) {
+            return new FxmlTemplate(path, location, in.readAllBytes());
+        }
+    }
+
+    /**
+     * Creates a loader whose location points at the original resource, so relative
+     * includes, stylesheets and resource bundles resolve exactly as before.
+     */
+    public FXMLLoader newLoader() {
+        return new FXMLLoader(location);
+    }
+
+    /**
+     * Instantiates a new object graph from this template using the given loader.
+     */
+    public <T> T load(FXMLLoader loader) throws IOException {
+        return loader.load(new ByteArrayInputStream(source));
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public URL getLocation() {
+        return location;
+    }
+
+    public int size() {
+        return source.length;
+    }
+}
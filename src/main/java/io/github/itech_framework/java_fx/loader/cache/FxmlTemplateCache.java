@@ -0,0 +1,118 @@
+package io.github.itech_framework.java_fx.loader.cache;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Per-path cache of {@link FxmlTemplate}s, ordered by access so the configured
+ * {@link EvictionPolicy} always sees the least recently used template first.
+ */
+public class FxmlTemplateCache {
+    private static final Logger logger = LogManager.getLogger(FxmlTemplateCache.class);
+
+    private final Map<TemplateKey, FxmlTemplate> templates = new LinkedHashMap<>(16, 0.75f, true);
+    private EvictionPolicy evictionPolicy;
+    private long totalBytes;
+    private volatile boolean enabled = true;
+
+    public FxmlTemplateCache(EvictionPolicy evictionPolicy) {
+        this.evictionPolicy = Objects.requireNonNull(evictionPolicy);
+    }
+
+    /**
+     * Returns the cached template for the path, reading and caching it on first use.
+     */
+    public FxmlTemplate get(Class<?> contextClass, String path) throws IOException {
+        if (!enabled) {
+            return FxmlTemplate.read(contextClass, path);
+        }
+
+        TemplateKey key = new TemplateKey(contextClass, path);
+        synchronized (this) {
+            FxmlTemplate template = templates.get(key);
+            if (template != null) {
+                return template;
+            }
+        }
+
+        FxmlTemplate template = FxmlTemplate.read(contextClass, path);
+        synchronized (this) {
+            FxmlTemplate existing = templates.putIfAbsent(key, template);
+            if (existing != null) {
+                return existing;
+            }
+            totalBytes += template.size();
+            evict();
+        }
+        logger.debug("Cached FXML template {}", path);
+        return template;
+    }
+
+    /**
+     * Drops every cached template for the given path, e.g. after the file changed on disk.
+     */
+    public synchronized void invalidate(String path) {
+        Iterator<Map.Entry<TemplateKey, FxmlTemplate>> it = templates.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<TemplateKey, FxmlTemplate> entry = it.next();
+            if (entry.getKey().path().equals(path)) {
+                totalBytes -= entry.getValue().size();
+                it.remove();
+            }
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        templates.clear();
+        totalBytes = 0;
+    }
+
+    public synchronized void setEvictionPolicy(EvictionPolicy evictionPolicy) {
+        this.evictionPolicy = Objects.requireNonNull(evictionPolicy);
+        evict();
+    }
+
+    /**
+     * Disabling the cache also clears it; useful while editing FXML during development.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            invalidateAll();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public synchronized int size() {
+        return templates.size();
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    private void evict() {
+        Iterator<FxmlTemplate> it = templates.values().iterator();
+        while (it.hasNext()) {
+            FxmlTemplate eldest = it.next();
+            if (!evictionPolicy.shouldEvict(eldest, templates.size(), totalBytes)) {
+                return;
+            }
+            totalBytes -= eldest.size();
+            it.remove();
+            logger.debug("Evicted FXML template {}", eldest.getPath());
+        }
+    }
+
+    private record TemplateKey(Class<?> contextClass, String path) {
+    }
+}
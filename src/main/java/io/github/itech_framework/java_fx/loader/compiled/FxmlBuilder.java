@@ -0,0 +1,29 @@
+package io.github.itech_framework.java_fx.loader.compiled;
+
+/**
+ * Builds the object graph of one FXML file with plain Java code instead of parsing it
+ * at runtime. Implementations are generated at build time by the {@code java-fx-compiler}
+ * annotation processor and discovered through {@link java.util.ServiceLoader}.
+ *
+ * @see FxmlBuilders
+ */
+public interface FxmlBuilder {
+
+    /**
+     * Classpath path of the FXML file this builder was compiled from, e.g. {@code /views/home.fxml}.
+     * A relative path is resolved against the package of the builder class.
+     */
+    String fxmlPath();
+
+    /**
+     * Creates the controller declared with {@code fx:controller}, or returns {@code null}
+     * when the file declares none and the caller supplies the controller.
+     */
+    Object createController() throws Exception;
+
+    /**
+     * Builds a new root node, injecting {@code fx:id} fields and event handlers into the
+     * controller and calling its {@code initialize} method, like {@code FXMLLoader.load()} would.
+     */
+    Object build(Object controller) throws Exception;
+}
@@ -0,0 +1,152 @@
+package io.github.itech_framework.java_fx.loader.compiled;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javafx.event.Event;
+import javafx.event.EventHandler;
+import javafx.fxml.FXML;
+import javafx.fxml.Initializable;
+
+/**
+ * Reflection helpers called from generated {@link FxmlBuilder}s for the parts of
+ * {@code FXMLLoader} that touch controller members, which may be private.
+ */
+public final class FxmlBuilderSupport {
+    private static final Map<String, Field> fields = new ConcurrentHashMap<>();
+    private static final Map<String, Method> methods = new ConcurrentHashMap<>();
+
+    private FxmlBuilderSupport() {}
+
+    public static Object newInstance(Class<?> type) throws Exception {
+        Constructor<?> constructor = type.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        return constructor.newInstance();
+    }
+
+    /**
+     * Assigns an {@code fx:id} element to the controller field of the same name, if there is one.
+     */
+    public static void inject(Object controller, String fxId, Object value) throws IllegalAccessException {
+        if (controller == null) {
+            return;
+        }
+        Field field = findField(controller.getClass(), fxId);
+        if (field != null) {
+            field.set(controller, value);
+        }
+    }
+
+    /**
+     * Creates the event handler for an {@code onXxx="#method"} attribute.
+     */
+    public static <T extends Event> EventHandler<T> handler(Object controller, String methodName) {
+        if (controller == null) {
+            throw new IllegalStateException("No controller specified for event handler #" + methodName);
+        }
+        Method method = findHandler(controller.getClass(), methodName);
+        boolean takesEvent = method.getParameterCount() == 1;
+        return event -> {
+            try {
+                if (takesEvent) {
+                    method.invoke(controller, event);
+                } else {
+                    method.invoke(controller);
+                }
+            } catch (InvocationTargetException e) {
+                throw new RuntimeException(e.getCause());
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException(e);
+            }
+        };
+    }
+
+    /**
+     * Calls the controller's {@code initialize} method the way {@code FXMLLoader} does.
+     */
+    public static void initialize(Object controller, Class<?> contextClass, String fxmlPath) throws Exception {
+        if (controller == null) {
+            return;
+        }
+        URL location = contextClass.getResource(fxmlPath);
+        injectIfDeclared(controller, "location", location);
+        if (controller instanceof Initializable initializable) {
+            initializable.initialize(location, null);
+            return;
+        }
+        for (Class<?> type = controller.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+            try {
+                Method initialize = type.getDeclaredMethod("initialize");
+                if (java.lang.reflect.Modifier.isPublic(initialize.getModifiers())
+                        || initialize.isAnnotationPresent(FXML.class)) {
+                    initialize.setAccessible(true);
+                    initialize.invoke(controller);
+                }
+                return;
+            } catch (NoSuchMethodException e) {
+                // keep looking in the superclass
+            }
+        }
+    }
+
+    private static void injectIfDeclared(Object controller, String name, Object value) throws IllegalAccessException {
+        Field field = findField(controller.getClass(), name);
+        if (field != null && field.getType().isInstance(value)) {
+            field.set(controller, value);
+        }
+    }
+
+    private static Field findField(Class<?> type, String name) {
+        String key = type.getName() + '#' + name;
+        Field cached = fields.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            try {
+                Field field = current.getDeclaredField(name);
+                if (java.lang.reflect.Modifier.isPublic(field.getModifiers()) || field.isAnnotationPresent(FXML.class)) {
+                    field.setAccessible(true);
+                    fields.put(key, field);
+                    return field;
+                }
+                return null;
+            } catch (NoSuchFieldException e) {
+                // keep looking in the superclass
+            }
+        }
+        return null;
+    }
+
+    private static Method findHandler(Class<?> type, String name) {
+        String key = type.getName() + '#' + name;
+        return methods.computeIfAbsent(key, k -> {
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                Method noArg = null;
+                for (Method method : current.getDeclaredMethods()) {
+                    if (!method.getName().equals(name)) {
+                        continue;
+                    }
+                    // like FXMLLoader, prefer the overload taking the event
+                    if (method.getParameterCount() == 1 && Event.class.isAssignableFrom(method.getParameterTypes()[0])) {
+                        method.setAccessible(true);
+                        return method;
+                    }
+                    if (method.getParameterCount() == 0) {
+                        noArg = method;
+                    }
+                }
+                if (noArg != null) {
+                    noArg.setAccessible(true);
+                    return noArg;
+                }
+            }
+            throw new IllegalStateException("Event handler #" + name + " not found on " + type.getName());
+        });
+    }
+}
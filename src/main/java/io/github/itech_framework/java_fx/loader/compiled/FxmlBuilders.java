@@ -0,0 +1,99 @@
+package io.github.itech_framework.java_fx.loader.compiled;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Registry of build-time compiled {@link FxmlBuilder}s, keyed by the absolute resource name
+ * of their FXML file. The loaders prefer a registered builder and fall back to
+ * {@code FXMLLoader} for every other file.
+ */
+public final class FxmlBuilders {
+    private static final Logger logger = LogManager.getLogger(FxmlBuilders.class);
+
+    private static volatile Map<String, FxmlBuilder> builders;
+    private static volatile boolean enabled = true;
+
+    private FxmlBuilders() {}
+
+    /**
+     * @param contextClass the class relative paths are resolved against, as for {@code Class.getResource}
+     * @param fxmlPath     the path passed to the loader
+     * @return the compiled builder for the resource, or {@code null} to use {@code FXMLLoader}
+     */
+    public static FxmlBuilder find(Class<?> contextClass, String fxmlPath) {
+        if (!enabled) {
+            return null;
+        }
+        return builders().get(resolve(contextClass, fxmlPath));
+    }
+
+    /**
+     * Resolves an FXML path to an absolute resource name the way {@code Class.getResource}
+     * does, e.g. {@code view.fxml} on {@code com.acme.HomeController} to {@code /com/acme/view.fxml}.
+     */
+    public static String resolve(Class<?> contextClass, String fxmlPath) {
+        String path = fxmlPath;
+        if (!path.startsWith("/")) {
+            String packagePath = contextClass.getPackageName().replace('.', '/');
+            path = "/" + (packagePath.isEmpty() ? "" : packagePath + "/") + path;
+        }
+        try {
+            return new URI(null, null, path, null).normalize().getPath();
+        } catch (URISyntaxException e) {
+            return path;
+        }
+    }
+
+    /**
+     * Disabling forces every load through {@code FXMLLoader}, e.g. while editing FXML files.
+     */
+    public static void setEnabled(boolean enabled) {
+        FxmlBuilders.enabled = enabled;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    private static Map<String, FxmlBuilder> builders() {
+        Map<String, FxmlBuilder> loaded = builders;
+        if (loaded == null) {
+            synchronized (FxmlBuilders.class) {
+                loaded = builders;
+                if (loaded == null) {
+                    loaded = discover();
+                    builders = loaded;
+                }
+            }
+        }
+        return loaded;
+    }
+
+    private static Map<String, FxmlBuilder> discover() {
+        Map<String, FxmlBuilder> discovered = new HashMap<>();
+        try {
+            for (FxmlBuilder builder : ServiceLoader.load(FxmlBuilder.class, FxmlBuilders.class.getClassLoader())) {
+                // builders compiled from a relative path resolve it against their own package
+                String key = resolve(builder.getClass(), builder.fxmlPath());
+                FxmlBuilder previous = discovered.putIfAbsent(key, builder);
+                if (previous != null) {
+                    logger.warn("FXML {} has two compiled builders, {} and {}; using the first",
+                            key, previous.getClass().getName(), builder.getClass().getName());
+                }
+            }
+        } catch (ServiceConfigurationError e) {
+            logger.warn("Compiled FXML builders could not be loaded, using FXMLLoader: {}", e.getMessage());
+            return new HashMap<>();
+        }
+        logger.debug("Found {} compiled FXML builders", discovered.size());
+        return discovered;
+    }
+}
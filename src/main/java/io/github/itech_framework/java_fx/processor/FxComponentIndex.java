@@ -0,0 +1,111 @@
+package io.github.itech_framework.java_fx.processor;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Component index written at build time by the {@code java-fx-compiler} annotation processor.
+ * Lists the {@code @FxController} classes and the {@code @Root} field of every
+ * {@code @FxComponent}, so the controller check at startup and component loading skip their
+ * reflective lookups. Component scanning and injection are left to the core
+ * {@code ComponentProcessor}.
+ */
+public final class FxComponentIndex {
+    public static final String LOCATION = "META-INF/itech/fx-components.index";
+
+    private static final Logger logger = LogManager.getLogger(FxComponentIndex.class);
+    private static volatile FxComponentIndex instance;
+
+    private final boolean present;
+    private final Set<String> controllers;
+    private final Map<String, String> rootFields;
+
+    private FxComponentIndex(boolean present, Set<String> controllers, Map<String, String> rootFields) {
+        this.present = present;
+        this.controllers = Collections.unmodifiableSet(controllers);
+        this.rootFields = Collections.unmodifiableMap(rootFields);
+    }
+
+    public static FxComponentIndex get() {
+        FxComponentIndex index = instance;
+        if (index == null) {
+            synchronized (FxComponentIndex.class) {
+                index = instance;
+                if (index == null) {
+                    index = read(Thread.currentThread().getContextClassLoader());
+                    instance = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Reads every index on the class path of {@code classLoader}; jars built without the
+     * processor simply contribute nothing.
+     */
+    public static FxComponentIndex read(ClassLoader classLoader) {
+        ClassLoader loader = classLoader != null ? classLoader : FxComponentIndex.class.getClassLoader();
+        Set<String> controllers = new LinkedHashSet<>();
+        Map<String, String> rootFields = new HashMap<>();
+        boolean present = false;
+        try {
+            Enumeration<URL> resources = loader.getResources(LOCATION);
+            while (resources.hasMoreElements()) {
+                present = true;
+                URL url = resources.nextElement();
+                try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        String[] columns = line.split("\t");
+                        if (columns.length < 2) {
+                            continue;
+                        }
+                        if ("controller".equals(columns[0])) {
+                            controllers.add(columns[1]);
+                        } else if ("component".equals(columns[0]) && columns.length > 2 && !columns[2].isEmpty()) {
+                            rootFields.put(columns[1], columns[2]);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not read the FX component index, falling back to reflection", e);
+            return new FxComponentIndex(false, Set.of(), Map.of());
+        }
+        return new FxComponentIndex(present, controllers, rootFields);
+    }
+
+    public boolean isPresent() {
+        return present;
+    }
+
+    public Set<String> getControllers() {
+        return controllers;
+    }
+
+    public boolean isController(Class<?> clazz) {
+        return controllers.contains(clazz.getName());
+    }
+
+    /**
+     * @return the name of the {@code @Root} field of {@code clazz}, or {@code null} when the
+     * class is not indexed
+     */
+    public String getRootField(Class<?> clazz) {
+        return rootFields.get(clazz.getName());
+    }
+}
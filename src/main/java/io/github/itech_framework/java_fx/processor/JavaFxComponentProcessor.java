@@ -9,7 +9,8 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 public class JavaFxComponentProcessor {
     public static void initializeFxControllers(Class<?> mainClass) throws Exception {
-        // Initialize core components
+        // Initialize core components; the classpath scan and injection stay in core,
+        // the FX component index only short-cuts the checks below
         ComponentProcessor.initialize(mainClass);
 
         // Validate FX controllers
@@ -20,6 +21,17 @@ public class JavaFxComponentProcessor {
     private static void validateFxControllers() {
         AtomicBoolean fxControllersFound = new AtomicBoolean(false);
 
+        // with a build-time index a class name lookup is enough; subclasses of indexed
+        // controllers and classes from non-indexed jars still go through the hierarchy walk
+        FxComponentIndex index = FxComponentIndex.get();
+        if (index.isPresent() && !index.getControllers().isEmpty()) {
+            for (Object instance : ComponentStore.components.values()) {
+                if (instance != null && index.isController(instance.getClass())) {
+                    return;
+                }
+            }
+        }
+
         ComponentStore.components.forEach((key, instance) -> {
             Class<?> clazz = instance.getClass();
             while (clazz != null) {
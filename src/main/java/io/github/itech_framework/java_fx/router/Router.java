@@ -1,18 +1,35 @@
 package io.github.itech_framework.java_fx.router;
 
-import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Stack;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import io.github.itech_framework.core.store.ComponentStore;
-import io.github.itech_framework.core.utils.DataStorageUtil;
 import io.github.itech_framework.core.utils.validator.CommonValidator;
+import io.github.itech_framework.java_fx.events.EventBus;
 import io.github.itech_framework.java_fx.loader.FxControllerLoader;
 import io.github.itech_framework.java_fx.loader.FxControllerLoader.Result;
+import io.github.itech_framework.java_fx.loader.compiled.FxmlBuilders;
+import io.github.itech_framework.java_fx.router.cache.ViewCache;
+import io.github.itech_framework.java_fx.router.cache.ViewCache.CachedView;
 import io.github.itech_framework.java_fx.router.config.Middleware;
 import io.github.itech_framework.java_fx.router.config.RouteMiddleware;
 import io.github.itech_framework.java_fx.router.config.RouterConfig;
@@ -22,35 +39,53 @@ import io.github.itech_framework.java_fx.router.core.Routable;
 import io.github.itech_framework.java_fx.router.core.Route;
 import io.github.itech_framework.java_fx.ui.layout.LayoutConfig;
 import io.github.itech_framework.java_fx.ui.layout.LayoutController;
+import io.github.itech_framework.java_fx.ui.theme.ThemeManager;
+import io.github.itech_framework.java_fx.utils.concurrent.BackgroundTaskService;
+import io.github.itech_framework.java_fx.utils.node.NodeUtils;
+import javafx.application.Platform;
 import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.StackPane;
-import javafx.scene.paint.Color;
 import javafx.stage.Stage;
 import lombok.Getter;
 
 public class Router {
-	private final Map<String, Route> routes = new HashMap<>();
-	private final Stack<NavigationState> navigationStack = new Stack<>();
+	private final Map<String, Route> routes = new LinkedHashMap<>();
+	private final Deque<NavigationState> navigationStack = new ArrayDeque<>();
 	@Getter
 	private final RouterConfig config = new RouterConfig();
+	@Getter
+	private final ThemeManager themeManager = new ThemeManager(config);
+	private final ViewCache viewCache = new ViewCache(config);
+	private final Map<String, PreparedView> preparedViews = new LinkedHashMap<>();
+	private ExecutorService prefetchExecutor;
 	private Stage primaryStage;
 	private Class<?> primaryClass;
 	@Getter
 	private Object currentArguments;
 	private Route currentRoute;
 	private Parent currentRoot;
+	private Parent currentContent;
+	private volatile LayoutShell activeShell;
+	private long navigationSequence;
 
 	private static final Logger logger = LogManager.getLogger(Router.class);
 
+	public Router() {
+		viewCache.setDiscardListener(view -> discardController(view.controller()));
+		// views on the back stack or kept alive are detached, not gone
+		EventBus.setNodeRetention(this::retains);
+	}
+
 	public void initialize(Class<?> clazz, Stage stage) {
 		this.primaryClass = clazz;
 		this.primaryStage = stage;
 		Scene rootScene = new Scene(new StackPane());
 		config.addStyleSheets(Objects.requireNonNull(getClass().getResource("/static/css/style.css")).toExternalForm());
 		primaryStage.setScene(rootScene);
+		themeManager.attach(rootScene);
 	}
 
 	public void registerRoute(Route route) {
@@ -104,8 +139,11 @@ public class Router {
 
 	// Clear all and start new
 	public void offAll(String routeName) {
+		List<Object> controllers = new ArrayList<>();
+		navigationStack.forEach(state -> controllers.add(state.controller()));
 		navigationStack.clear();
 		to(routeName);
+		controllers.forEach(this::discardController);
 	}
 
 	// Go back
@@ -113,6 +151,9 @@ public class Router {
 		if (navigationStack.size() > 1) {
 			NavigationState currentState = navigationStack.pop();
 			NavigationState previousState = navigationStack.peek();
+			navigationSequence++;
+
+			LayoutShell shell = previousState.isHydrated() ? null : rehydrate(previousState);
 
 			// Notify the current controller it's being left
 			if (currentState.controller() instanceof Routable) {
@@ -120,120 +161,558 @@ public class Router {
 			}
 
 			// Update scene to previous state's root
-			updateSceneRoot(previousState.root());
-			applyTransition(previousState.root(), previousState.route());
+			show(previousState.route(), previousState.root(), shell);
 
 			// Update current references
 			currentArguments = previousState.arguments();
-			currentRoot = previousState.root();
 			currentRoute = previousState.route();
 
 			// Notify the previous controller it's being resumed
 			if (previousState.controller() instanceof Routable) {
 				((Routable) previousState.controller()).onResume();
 			}
+			discardController(currentState.controller());
 		}
 	}
 
 	public void pop() {
 		if (navigationStack.size() > 1) {
-			navigationStack.pop();
+			NavigationState currentState = navigationStack.pop();
 			NavigationState previousState = navigationStack.peek();
 
 			navigateTo(previousState.route, previousState.arguments, false);
+			discardController(currentState.controller());
 		}
 	}
 
 	private void navigateTo(Route route, Object arguments, boolean replace) {
 		logger.debug("Navigating to {}", route.name());
 		try {
-			if (!runMiddlewares(route, arguments)) {
+			if (!passMiddlewares(route, arguments)) {
 				return;
 			}
+			navigationSequence++;
 
-			MiddlewareResult result = runRouteMiddlewares(route, arguments);
-
-			if (!result.shouldProceed()) {
-				handleMiddlewareFailure(result);
+			CachedView cached = route.keepAlive() ? viewCache.get(route.name()) : null;
+			if (cached != null) {
+				logger.debug("Reusing keep-alive page {}", route.name());
+				commitNavigation(route, arguments, replace, cached.root(), cached.controller(), null, cached);
 				return;
 			}
 
-			logger.debug("Loading page... " + arguments);
+			LoadResult loadedResult = takePrepared(route, arguments);
+			if (loadedResult == null) {
+				logger.debug("Loading page... " + arguments);
 
-			// Use layout-aware loading
-			LoadResult loadedResult = loadWithLayout(route, arguments);
-			Parent root = loadedResult.root();
-			Object controller = loadedResult.controller();
+				// Use layout-aware loading
+				loadedResult = loadWithLayout(route, arguments);
+			}
 
 			logger.debug("Page loaded.");
 
-			updateSceneRoot(root);
-			applyTransition(root, route);
+			commitNavigation(route, arguments, replace, loadedResult.root(), loadedResult.controller(),
+					loadedResult.shell(), null);
+		} catch (Exception e) {
+			logger.error("Navigation failed: {}", e.getMessage());
+			throw new RuntimeException("Navigation failed: " + e.getMessage(), e);
+		}
+	}
+
+	// Asynchronous navigation
+	public CompletableFuture<Object> toAsync(String routeName) {
+		return toAsync(routeName, null);
+	}
 
-			handleControllerNavigation(route, arguments, controller);
+	/**
+	 * Navigates like {@link #to(String, Object)} but loads the FXML and controller on a
+	 * background thread. Middlewares still run on the calling (FX) thread, the configured
+	 * placeholder is shown while loading, and the loaded root is swapped in on the FX thread.
+	 * A newer navigation started before the load finishes supersedes this one.
+	 *
+	 * @return future completed on the FX thread with the route controller, or with
+	 *         {@code null} when a middleware blocked or a newer navigation superseded it
+	 */
+	public CompletableFuture<Object> toAsync(String routeName, Object arguments) {
+		Route route = routes.get(routeName);
+		if (route == null)
+			throw new IllegalArgumentException("Route not registered: " + routeName);
+
+		logger.debug("Navigating asynchronously to {}", route.name());
+		if (!passMiddlewares(route, arguments)) {
+			return CompletableFuture.completedFuture(null);
+		}
+		long sequence = ++navigationSequence;
+
+		CachedView cached = route.keepAlive() ? viewCache.get(route.name()) : null;
+		if (cached != null) {
+			commitNavigation(route, arguments, false, cached.root(), cached.controller(), null, cached);
+			return CompletableFuture.completedFuture(cached.controller());
+		}
+
+		Supplier<Parent> placeholderFactory = config.getPlaceholderFactory();
+		if (placeholderFactory != null) {
+			showPlaceholder(route, placeholderFactory.get());
+		}
+
+		PreparedView prepared = preparedViews.remove(route.name());
+		CompletableFuture<LoadResult> loading;
+		if (prepared != null && Objects.equals(prepared.arguments(), arguments)) {
+			loading = prepared.loading();
+		} else {
+			if (prepared != null) {
+				discardPrepared(prepared);
+			}
+			loading = loadAsync(route, arguments, config.getLoaderExecutor());
+		}
+
+		return loading.thenApplyAsync(loaded -> {
+			if (sequence != navigationSequence) {
+				logger.debug("Discarding superseded navigation to {}", route.name());
+				discardLoaded(loaded);
+				return null;
+			}
+			commitNavigation(route, arguments, false, loaded.root(), loaded.controller(), loaded.shell(), null);
+			return loaded.controller();
+		}, Platform::runLater).whenComplete((controller, e) -> {
+			if (e != null) {
+				logger.error("Navigation failed: {}", e.getMessage());
+				// Take the placeholder down again unless a newer navigation owns the scene
+				Platform.runLater(() -> {
+					if (sequence == navigationSequence && currentContent != null) {
+						updateSceneRoot(mount(currentRoute, currentContent, null));
+					}
+				});
+			}
+		});
+	}
+
+	// Preloading
+	public void preload(String routeName) {
+		preload(routeName, null);
+	}
+
+	/**
+	 * Loads a route's FXML and controller on a low-priority background thread so a later
+	 * {@code to}/{@code toAsync} with the same arguments can show it without loading.
+	 * Must be called on the FX thread. The number of held views is capped by
+	 * {@link RouterConfig#getPrefetchBudget()}.
+	 */
+	public void preload(String routeName, Object arguments) {
+		Route route = routes.get(routeName);
+		if (route == null)
+			throw new IllegalArgumentException("Route not registered: " + routeName);
+		if (config.getPrefetchBudget() <= 0 || (route.keepAlive() && viewCache.contains(routeName))) {
+			return;
+		}
 
-			// Update navigation stack
-			if (replace && !navigationStack.isEmpty()) {
-				navigationStack.pop();
+		PreparedView existing = preparedViews.remove(routeName);
+		if (existing != null) {
+			if (Objects.equals(existing.arguments(), arguments) && !existing.loading().isCompletedExceptionally()) {
+				preparedViews.put(routeName, existing);
+				return;
 			}
+			discardPrepared(existing);
+		}
 
-			navigationStack.push(new NavigationState(route, root, arguments, controller));
+		Iterator<PreparedView> eldest = preparedViews.values().iterator();
+		while (preparedViews.size() >= config.getPrefetchBudget() && eldest.hasNext()) {
+			discardPrepared(eldest.next());
+			eldest.remove();
+		}
+
+		logger.debug("Preloading {}", routeName);
+		preparedViews.put(routeName, new PreparedView(arguments, loadAsync(route, arguments, prefetchExecutor())));
+	}
 
-			currentArguments = arguments;
-			currentRoot = root;
-			currentRoute = route;
-			logger.debug("Navigated to {}", route.name());
+	/**
+	 * Discards every preloaded view that has not been navigated to yet.
+	 */
+	public void clearPreloaded() {
+		preparedViews.values().forEach(this::discardPrepared);
+		preparedViews.clear();
+	}
+
+	/**
+	 * Reads the FXML of every registered route and layout into the template cache on the
+	 * loader executor, in registration order, so the first navigation does not wait on
+	 * resource I/O. Only templates are read; no controllers are created. Failures are left
+	 * for the navigation to report.
+	 *
+	 * @param contextClass the class later passed to {@link #initialize(Class, Stage)}
+	 */
+	public CompletableFuture<Void> warmTemplates(Class<?> contextClass) {
+		Set<String> paths = new LinkedHashSet<>();
+		for (Route route : routes.values()) {
+			paths.add(route.fxmlPath());
+			if (CommonValidator.validString(route.layout())) {
+				LayoutConfig layoutConfig = config.getLayout(route.layout());
+				if (layoutConfig != null && layoutConfig.isEnabled()) {
+					paths.add(layoutConfig.getLayoutFxml());
+				}
+			}
+		}
+
+		Executor executor = config.getLoaderExecutor();
+		return CompletableFuture.allOf(paths.stream()
+				.map(path -> CompletableFuture.runAsync(() -> warmTemplate(contextClass, path), executor))
+				.toArray(CompletableFuture[]::new));
+	}
+
+	private static void warmTemplate(Class<?> contextClass, String path) {
+		try {
+			if (FxmlBuilders.find(contextClass, path) == null) {
+				FxControllerLoader.getTemplateCache().get(contextClass, path);
+			}
+		} catch (Exception e) {
+			logger.debug("Could not warm FXML template {}: {}", path, e.getMessage());
+		}
+	}
+
+	private LoadResult takePrepared(Route route, Object arguments) {
+		PreparedView prepared = preparedViews.remove(route.name());
+		if (prepared == null) {
+			return null;
+		}
+		CompletableFuture<LoadResult> loading = prepared.loading();
+		if (!Objects.equals(prepared.arguments(), arguments) || !loading.isDone()
+				|| loading.isCompletedExceptionally()) {
+			discardPrepared(prepared);
+			return null;
+		}
+		logger.debug("Using preloaded page {}", route.name());
+		return loading.join();
+	}
+
+	private void schedulePrefetch(Route route) {
+		if (route.prefetch().isEmpty()) {
+			return;
+		}
+		// Defer to the next pulse so the hints never delay the navigation itself
+		Platform.runLater(() -> route.prefetch().forEach(name -> {
+			if (routes.containsKey(name) && !preparedViews.containsKey(name)) {
+				preload(name);
+			}
+		}));
+	}
+
+	private CompletableFuture<LoadResult> loadAsync(Route route, Object arguments, Executor executor) {
+		CompletableFuture<LoadResult> loading = new CompletableFuture<>();
+		executor.execute(() -> {
+			if (loading.isDone()) {
+				// dropped before it started
+				return;
+			}
+			LoadResult loaded;
+			try {
+				loaded = loadWithLayout(route, arguments);
+			} catch (Throwable e) {
+				loading.completeExceptionally(new CompletionException(e));
+				return;
+			}
+			if (!loading.complete(loaded)) {
+				// dropped while loading, nobody else will see these controllers
+				Platform.runLater(() -> discardLoaded(loaded));
+			}
+		});
+		return loading;
+	}
+
+	/**
+	 * Drops a preloaded view. A load that is still queued is skipped and one that is running
+	 * releases its controllers when it finishes, see {@link #loadAsync}.
+	 */
+	private void discardPrepared(PreparedView prepared) {
+		CompletableFuture<LoadResult> loading = prepared.loading();
+		if (!loading.cancel(false) && !loading.isCompletedExceptionally()) {
+			discardLoaded(loading.join());
+		}
+	}
+
+	private void discardLoaded(LoadResult loaded) {
+		discardController(loaded.controller());
+		if (loaded.shell() != null) {
+			discardController(loaded.shell().controller());
+		}
+	}
+
+	private ExecutorService prefetchExecutor() {
+		if (prefetchExecutor == null) {
+			prefetchExecutor = Executors.newSingleThreadExecutor(r -> {
+				Thread thread = new Thread(r, "router-prefetch");
+				thread.setDaemon(true);
+				thread.setPriority(Thread.MIN_PRIORITY);
+				return thread;
+			});
+		}
+		return prefetchExecutor;
+	}
+
+	/**
+	 * Applies the configured depth limits: entries beyond {@link RouterConfig#getMaxNavigationDepth()}
+	 * are forgotten, and entries deeper than {@link RouterConfig#getHydratedDepth()} drop their scene
+	 * graph and controller, keeping only the route and arguments needed to rebuild them.
+	 */
+	private void trimNavigationStack() {
+		List<Object> released = new ArrayList<>();
+		while (navigationStack.size() > Math.max(1, config.getMaxNavigationDepth())) {
+			released.add(navigationStack.removeLast().controller());
+		}
+
+		int depth = 0;
+		for (NavigationState state : navigationStack) {
+			if (depth++ >= Math.max(1, config.getHydratedDepth()) && state.isHydrated()) {
+				logger.debug("Dehydrating {}", state.route().name());
+				released.add(state.controller());
+				state.dehydrate();
+			}
+		}
+		released.forEach(this::discardController);
+	}
+
+	private LayoutShell rehydrate(NavigationState state) {
+		Route route = state.route();
+		logger.debug("Rehydrating {}", route.name());
+
+		CachedView cached = route.keepAlive() ? viewCache.get(route.name()) : null;
+		if (cached != null) {
+			state.hydrate(cached.root(), cached.controller());
+			return null;
+		}
+
+		LoadResult loadedResult;
+		try {
+			loadedResult = takePrepared(route, state.arguments());
+			if (loadedResult == null) {
+				loadedResult = loadWithLayout(route, state.arguments());
+			}
+			state.hydrate(loadedResult.root(), loadedResult.controller());
 		} catch (Exception e) {
 			logger.error("Navigation failed: {}", e.getMessage());
 			throw new RuntimeException("Navigation failed: " + e.getMessage(), e);
 		}
+
+		// A rebuilt controller has not seen its arguments yet
+		handleControllerNavigation(route, state.arguments(), state.controller());
+		if (route.keepAlive()) {
+			viewCache.put(route.name(), state.root(), state.controller(), state.arguments());
+		}
+		return loadedResult.shell();
+	}
+
+	/**
+	 * Number of entries in the back stack.
+	 */
+	public int getNavigationDepth() {
+		return navigationStack.size();
+	}
+
+	/**
+	 * Number of nodes kept reachable by the router: the scene graphs of hydrated
+	 * back-stack entries, all keep-alive views and the active layout shell, with
+	 * every node counted once.
+	 */
+	public int getRetainedNodeCount() {
+		Set<Parent> roots = retainedRoots();
+		int count = 0;
+		for (Parent root : roots) {
+			if (!hasAncestorIn(root, roots)) {
+				count += NodeUtils.countNodes(root);
+			}
+		}
+		return count;
 	}
 
+	private Set<Parent> retainedRoots() {
+		Set<Parent> roots = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (NavigationState state : navigationStack) {
+			if (state.isHydrated()) {
+				roots.add(state.root());
+			}
+		}
+		roots.addAll(viewCache.roots());
+		if (activeShell != null) {
+			roots.add(activeShell.root());
+		}
+		return roots;
+	}
+
+	/**
+	 * Whether {@code node} belongs to a view the router shows or keeps for reuse.
+	 */
+	private boolean retains(Node node) {
+		Set<Parent> roots = retainedRoots();
+		for (Node current = node; current != null; current = current.getParent()) {
+			if (current == currentRoot || current == currentContent || roots.contains(current)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean hasAncestorIn(Parent node, Set<Parent> candidates) {
+		for (Parent parent = node.getParent(); parent != null; parent = parent.getParent()) {
+			if (candidates.contains(parent)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean passMiddlewares(Route route, Object arguments) {
+		if (!runMiddlewares(route, arguments)) {
+			return false;
+		}
+
+		MiddlewareResult result = runRouteMiddlewares(route, arguments);
+
+		if (!result.shouldProceed()) {
+			handleMiddlewareFailure(result);
+			return false;
+		}
+		return true;
+	}
+
+	private void commitNavigation(Route route, Object arguments, boolean replace, Parent content, Object controller,
+			LayoutShell shell, CachedView cached) {
+		show(route, content, shell);
+
+		if (cached != null) {
+			handleControllerResume(route, arguments, cached);
+		} else {
+			handleControllerNavigation(route, arguments, controller);
+			if (route.keepAlive()) {
+				viewCache.put(route.name(), content, controller, arguments);
+			}
+		}
+
+		// Update navigation stack
+		NavigationState replaced = replace && !navigationStack.isEmpty() ? navigationStack.pop() : null;
+
+		navigationStack.push(new NavigationState(route, content, arguments, controller));
+		trimNavigationStack();
+		if (replaced != null) {
+			discardController(replaced.controller());
+		}
+
+		currentArguments = arguments;
+		currentRoute = route;
+		logger.debug("Navigated to {}", route.name());
+
+		schedulePrefetch(route);
+	}
+
+	/**
+	 * Loads the route content. A layout shell is only loaded when the route uses a layout
+	 * other than the active one; otherwise the active shell is reused when the content is shown.
+	 */
 	private LoadResult loadWithLayout(Route route, Object arguments) throws Exception {
-		String layoutName = route.layout();
+		LayoutConfig layoutConfig = layoutConfigFor(route);
+		LayoutShell active = activeShell;
+		LayoutShell shell = null;
+
+		if (layoutConfig != null && (active == null || !active.name().equals(route.layout()))) {
+			shell = loadShell(route.layout(), layoutConfig);
+		}
+
+		// Load the content
+		Result<Parent, ?> contentResult = FxControllerLoader.loadWithResult(primaryClass, route.fxmlPath());
+		return new LoadResult(contentResult.getRoot(), contentResult.getController(), shell);
+	}
 
+	private LayoutShell loadShell(String layoutName, LayoutConfig layoutConfig) throws Exception {
+		logger.debug("Loading layout {}", layoutName);
+		Result<Parent, ?> layoutResult = FxControllerLoader.loadWithResult(primaryClass, layoutConfig.getLayoutFxml());
+		return new LayoutShell(layoutName, layoutConfig, layoutResult.getRoot(), layoutResult.getController());
+	}
+
+	/**
+	 * @return the enabled layout of the route, or {@code null} when it is shown without one
+	 */
+	private LayoutConfig layoutConfigFor(Route route) {
+		String layoutName = route.layout();
 		if (!CommonValidator.validString(layoutName)) {
-			Result<Parent, ?> result = FxControllerLoader.loadWithResult(primaryClass, route.fxmlPath());
-			return new LoadResult(result.getRoot(), result.getController(), false);
+			return null;
 		}
 
 		LayoutConfig layoutConfig = config.getLayout(layoutName);
 		if (layoutConfig == null) {
 			throw new RuntimeException("Layout not found: " + layoutName);
 		}
+		return layoutConfig.isEnabled() ? layoutConfig : null;
+	}
 
-		if (!layoutConfig.isEnabled()) {
-			Result<Parent, ?> result = FxControllerLoader.loadWithResult(primaryClass, route.fxmlPath());
-			return new LoadResult(result.getRoot(), result.getController(), false);
+	/**
+	 * Places the content into its layout shell, keeping the active shell when the route uses
+	 * the same layout, and returns the node to use as scene root.
+	 */
+	private Parent mount(Route route, Parent content, LayoutShell loadedShell) {
+		LayoutConfig layoutConfig = layoutConfigFor(route);
+		if (layoutConfig == null) {
+			return content;
 		}
 
-		Result<Parent, ?> layoutResult = FxControllerLoader.loadWithResult(primaryClass, layoutConfig.getLayoutFxml());
-		Parent layoutRoot = layoutResult.getRoot();
-		Object layoutController = layoutResult.getController();
+		LayoutShell shell = activeShell;
+		if (shell == null || !shell.name().equals(route.layout())) {
+			try {
+				shell = loadedShell != null ? loadedShell : loadShell(route.layout(), layoutConfig);
+			} catch (Exception e) {
+				throw new RuntimeException("Layout load failed: " + route.layout(), e);
+			}
+		}
 
-		// Load the content
-		Result<Parent, ?> contentResult = FxControllerLoader.loadWithResult(primaryClass, route.fxmlPath());
-		Parent contentRoot = contentResult.getRoot();
-		Object contentController = contentResult.getController();
+		setShellContent(shell, content);
 
-		if (layoutController instanceof LayoutController) {
-			((LayoutController) layoutController).setContent(contentRoot);
-		} else {
-			// Fallback: look for the container by ID
-			Node container = layoutRoot.lookup("#" + layoutConfig.getContentContainerId());
-			if (container instanceof Pane) {
-				((Pane) container).getChildren().add(contentRoot);
-			} else {
-				throw new RuntimeException(
-						"Layout container not found or not a Pane: " + layoutConfig.getContentContainerId());
+		if (shell != activeShell) {
+			LayoutShell previous = activeShell;
+			activeShell = shell;
+			if (shell.controller() instanceof LayoutController layoutController) {
+				layoutController.onLayoutLoaded();
+			}
+			if (previous != null) {
+				discardController(previous.controller());
 			}
 		}
+		return shell.root();
+	}
 
-		if (layoutController instanceof LayoutController) {
-			((LayoutController) layoutController).onLayoutLoaded();
+	private void setShellContent(LayoutShell shell, Parent content) {
+		if (shell.controller() instanceof LayoutController layoutController) {
+			layoutController.setContent(content);
+			return;
 		}
 
-		return new LoadResult(layoutRoot, contentController, true);
+		// Fallback: look for the container by ID
+		Node container = shell.root().lookup("#" + shell.layoutConfig().getContentContainerId());
+		if (container instanceof Pane) {
+			((Pane) container).getChildren().setAll(content);
+		} else {
+			throw new RuntimeException(
+					"Layout container not found or not a Pane: " + shell.layoutConfig().getContentContainerId());
+		}
+	}
+
+	/**
+	 * Shows the content as the current screen. When the layout shell is reused only the
+	 * content receives the route transition.
+	 */
+	private void show(Route route, Parent content, LayoutShell loadedShell) {
+		Parent previousRoot = primaryStage.getScene() != null ? primaryStage.getScene().getRoot() : null;
+		Parent root = mount(route, content, loadedShell);
+		updateSceneRoot(root);
+		applyTransition(root == previousRoot && root != content ? content : root, route);
+
+		currentRoot = root;
+		currentContent = content;
+	}
+
+	private void showPlaceholder(Route route, Parent placeholder) {
+		LayoutShell shell = activeShell;
+		if (shell != null && shell.root() == currentRoot && layoutConfigFor(route) != null
+				&& shell.name().equals(route.layout())) {
+			setShellContent(shell, placeholder);
+		} else {
+			updateSceneRoot(placeholder);
+		}
 	}
 
 	public void refresh() {
@@ -245,18 +724,26 @@ public class Router {
 			return;
 		try {
 			LoadResult loadedResult = loadWithLayout(currentRoute, newArguments);
-			Parent newRoot = loadedResult.root();
+			Parent newContent = loadedResult.root();
 			Object newController = loadedResult.controller();
 
 			handleRefreshLifecycle(newController, newArguments);
 
+			if (currentRoute.keepAlive()) {
+				viewCache.put(currentRoute.name(), newContent, newController, newArguments);
+			}
+
 			// Update view
-			updateSceneRoot(newRoot);
-			applyTransition(newRoot, currentRoute);
+			show(currentRoute, newContent, loadedResult.shell());
 
 			// Update references
-			currentRoot = newRoot;
+			Object oldController = null;
+			if (!navigationStack.isEmpty()) {
+				oldController = navigationStack.peek().controller();
+				navigationStack.peek().hydrate(newContent, newController);
+			}
 			currentArguments = newArguments;
+			discardController(oldController);
 
 		} catch (Exception e) {
 			throw new RuntimeException("Refresh failed", e);
@@ -290,18 +777,9 @@ public class Router {
 		} else {
 			primaryStage.getScene().setRoot(root);
 		}
-		primaryStage.getScene().getStylesheets().addAll(getConfig().getStyleSheets());
-		// check for dark mode
-		if (DataStorageUtil.load(RouterConfig.getDarkModeKey()) != null) {
-			boolean isDarkMode = Boolean.parseBoolean((String) DataStorageUtil.load(RouterConfig.getDarkModeKey()));
-			if (isDarkMode) {
-				primaryStage.getScene().getRoot().getStyleClass().add("dark-mode");
-				primaryStage.getScene().setFill(Color.BLACK);
-			} else {
-				primaryStage.getScene().getRoot().getStyleClass().remove("dark-mode");
-				primaryStage.getScene().setFill(Color.WHITE);
-			}
-		}
+		// the theme manager re-themes new roots itself, only new stylesheets need applying
+		themeManager.attach(primaryStage.getScene());
+		themeManager.syncStyleSheets();
 	}
 
 	private void handleControllerNavigation(Route route, Object arguments, Object controller) {
@@ -310,6 +788,52 @@ public class Router {
 		}
 	}
 
+	private void handleControllerResume(Route route, Object arguments, CachedView cached) {
+		if (cached.controller() instanceof Routable routable) {
+			if (arguments != null && !Objects.equals(arguments, cached.arguments())) {
+				routable.onNavigate(arguments);
+			}
+			routable.onResume();
+		}
+		viewCache.updateArguments(route.name(), arguments);
+	}
+
+	/**
+	 * Releases what a controller the router no longer shows holds through the framework: its
+	 * owned {@code EventBus} subscriptions and its bound background tasks. Controllers still on the stack,
+	 * kept alive or showing the active layout are left alone.
+	 */
+	private void discardController(Object controller) {
+		if (controller == null || viewCache.containsController(controller)
+				|| (activeShell != null && activeShell.controller() == controller)) {
+			return;
+		}
+		for (NavigationState state : navigationStack) {
+			if (state.controller() == controller) {
+				return;
+			}
+		}
+		int released = EventBus.unsubscribeOwner(controller);
+		// nodes of the dropped view may have owned subscriptions as well
+		EventBus.releaseDetachedOwners();
+		int cancelled = BackgroundTaskService.cancelOwnedTasks(controller);
+		if (released > 0 || cancelled > 0) {
+			logger.debug("Released {} subscriptions and cancelled {} tasks of {}", released, cancelled,
+					controller.getClass().getName());
+		}
+	}
+
+	/**
+	 * Drops the retained view of a keep-alive route so the next navigation reloads it.
+	 */
+	public void invalidateKeepAlive(String routeName) {
+		viewCache.discard(routeName);
+	}
+
+	public void clearKeepAlive() {
+		viewCache.clear();
+	}
+
 	private boolean runMiddlewares(Route route, Object arguments) {
 		Route current = navigationStack.isEmpty() ? null : navigationStack.peek().route;
 		for (Middleware middleware : config.getMiddlewares()) {
@@ -350,9 +874,60 @@ public class Router {
 	}
 
 	// Helper records
-	private record NavigationState(Route route, Parent root, Object arguments, Object controller) {
+	private static final class NavigationState {
+		private final Route route;
+		private final Object arguments;
+		private Parent root;
+		private Object controller;
+
+		private NavigationState(Route route, Parent root, Object arguments, Object controller) {
+			this.route = route;
+			this.root = root;
+			this.arguments = arguments;
+			this.controller = controller;
+		}
+
+		Route route() {
+			return route;
+		}
+
+		Parent root() {
+			return root;
+		}
+
+		Object arguments() {
+			return arguments;
+		}
+
+		Object controller() {
+			return controller;
+		}
+
+		boolean isHydrated() {
+			return root != null;
+		}
+
+		void hydrate(Parent root, Object controller) {
+			this.root = root;
+			this.controller = controller;
+		}
+
+		void dehydrate() {
+			this.root = null;
+			this.controller = null;
+		}
+	}
+
+	/**
+	 * @param root  the route content
+	 * @param shell a freshly loaded layout shell, or {@code null} when none was needed
+	 */
+	private record LoadResult(Parent root, Object controller, LayoutShell shell) {
+	}
+
+	private record LayoutShell(String name, LayoutConfig layoutConfig, Parent root, Object controller) {
 	}
 
-	private record LoadResult(Parent root, Object controller, boolean usesLayout) {
+	private record PreparedView(Object arguments, CompletableFuture<LoadResult> loading) {
 	}
 }
\ No newline at end of file
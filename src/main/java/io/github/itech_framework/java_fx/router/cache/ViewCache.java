@@ -0,0 +1,138 @@
+package io.github.itech_framework.java_fx.router.cache;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import io.github.itech_framework.java_fx.router.config.RouterConfig;
+import io.github.itech_framework.java_fx.utils.node.NodeUtils;
+import javafx.scene.Parent;
+
+/**
+ * LRU cache of loaded views for keep-alive routes, bounded by the number of views
+ * and by the estimated node weight configured on {@link RouterConfig}.
+ */
+public class ViewCache {
+	private static final Logger logger = LogManager.getLogger(ViewCache.class);
+
+	private final Map<String, CachedView> views = new LinkedHashMap<>(16, 0.75f, true);
+	private final RouterConfig config;
+	private long totalWeight;
+	private Consumer<CachedView> discardListener = view -> {
+	};
+
+	public ViewCache(RouterConfig config) {
+		this.config = config;
+	}
+
+	/**
+	 * Called for every view that leaves the cache: replaced, removed, cleared or evicted.
+	 */
+	public void setDiscardListener(Consumer<CachedView> discardListener) {
+		this.discardListener = Objects.requireNonNull(discardListener);
+	}
+
+	public CachedView get(String routeName) {
+		return views.get(routeName);
+	}
+
+	public boolean contains(String routeName) {
+		return views.containsKey(routeName);
+	}
+
+	public void put(String routeName, Parent root, Object controller, Object arguments) {
+		CachedView previous = remove(routeName);
+		CachedView view = new CachedView(root, controller, arguments, NodeUtils.countNodes(root));
+		views.put(routeName, view);
+		totalWeight += view.weight();
+		evict(routeName);
+		if (previous != null && previous.controller() != controller) {
+			discardListener.accept(previous);
+		}
+	}
+
+	/**
+	 * Records the arguments a cached view was last shown with.
+	 */
+	public void updateArguments(String routeName, Object arguments) {
+		CachedView view = views.get(routeName);
+		if (view != null) {
+			views.put(routeName, new CachedView(view.root(), view.controller(), arguments, view.weight()));
+		}
+	}
+
+	public CachedView remove(String routeName) {
+		CachedView view = views.remove(routeName);
+		if (view != null) {
+			totalWeight -= view.weight();
+		}
+		return view;
+	}
+
+	/**
+	 * Removes the view and reports it to the discard listener.
+	 */
+	public void discard(String routeName) {
+		CachedView view = remove(routeName);
+		if (view != null) {
+			discardListener.accept(view);
+		}
+	}
+
+	public void clear() {
+		List<CachedView> discarded = new ArrayList<>(views.values());
+		views.clear();
+		totalWeight = 0;
+		discarded.forEach(discardListener);
+	}
+
+	public boolean containsController(Object controller) {
+		for (CachedView view : views.values()) {
+			if (view.controller() == controller) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public List<Parent> roots() {
+		List<Parent> roots = new ArrayList<>(views.size());
+		views.values().forEach(view -> roots.add(view.root()));
+		return roots;
+	}
+
+	public int size() {
+		return views.size();
+	}
+
+	public long getTotalWeight() {
+		return totalWeight;
+	}
+
+	private void evict(String keep) {
+		List<CachedView> evicted = new ArrayList<>();
+		Iterator<Map.Entry<String, CachedView>> it = views.entrySet().iterator();
+		while (it.hasNext() && (views.size() > config.getKeepAliveMaxViews()
+				|| totalWeight > config.getKeepAliveMaxNodes())) {
+			Map.Entry<String, CachedView> eldest = it.next();
+			if (eldest.getKey().equals(keep)) {
+				continue;
+			}
+			totalWeight -= eldest.getValue().weight();
+			it.remove();
+			evicted.add(eldest.getValue());
+			logger.debug("Evicted keep-alive view {}", eldest.getKey());
+		}
+		evicted.forEach(discardListener);
+	}
+
+	public record CachedView(Parent root, Object controller, Object arguments, int weight) {
+	}
+}
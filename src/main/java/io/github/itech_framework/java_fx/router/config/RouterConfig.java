@@ -5,9 +5,13 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 import io.github.itech_framework.java_fx.exceptions.DuplicateConfigKey;
 import io.github.itech_framework.java_fx.ui.layout.LayoutConfig;
+import io.github.itech_framework.java_fx.utils.concurrent.BackgroundTaskService;
+import javafx.scene.Parent;
 
 public class RouterConfig {
     @Deprecated
@@ -25,6 +29,20 @@ public class RouterConfig {
     
     private final Map<String, LayoutConfig> layoutConfigs = new HashMap<>();
 
+    private int keepAliveMaxViews = 5;
+
+    private int keepAliveMaxNodes = 20_000;
+
+    private Supplier<Parent> placeholderFactory;
+
+    private Executor loaderExecutor;
+
+    private int prefetchBudget = 2;
+
+    private int maxNavigationDepth = 50;
+
+    private int hydratedDepth = 3;
+
     /**
      * Adds a legacy middleware to the router configuration.
      * 
@@ -164,4 +182,86 @@ public class RouterConfig {
 		return styleSheets;
 	}
 
+	public int getKeepAliveMaxViews() {
+		return keepAliveMaxViews;
+	}
+
+	/**
+	 * Maximum number of keep-alive views retained by the router.
+	 */
+	public void setKeepAliveMaxViews(int keepAliveMaxViews) {
+		this.keepAliveMaxViews = keepAliveMaxViews;
+	}
+
+	public int getKeepAliveMaxNodes() {
+		return keepAliveMaxNodes;
+	}
+
+	/**
+	 * Maximum combined node count of all keep-alive views; the least recently
+	 * used views are evicted once it is exceeded.
+	 */
+	public void setKeepAliveMaxNodes(int keepAliveMaxNodes) {
+		this.keepAliveMaxNodes = keepAliveMaxNodes;
+	}
+
+	public Supplier<Parent> getPlaceholderFactory() {
+		return placeholderFactory;
+	}
+
+	/**
+	 * Creates the placeholder (e.g. a skeleton or spinner) shown while
+	 * {@code Router.toAsync} loads a route; {@code null} keeps the current screen.
+	 */
+	public void setPlaceholderFactory(Supplier<Parent> placeholderFactory) {
+		this.placeholderFactory = placeholderFactory;
+	}
+
+	/**
+	 * Executor used for background route loading, defaulting to the
+	 * {@link BackgroundTaskService} worker pool.
+	 */
+	public Executor getLoaderExecutor() {
+		return loaderExecutor != null ? loaderExecutor : BackgroundTaskService.getInstance().getExecutor();
+	}
+
+	public void setLoaderExecutor(Executor loaderExecutor) {
+		this.loaderExecutor = loaderExecutor;
+	}
+
+	public int getPrefetchBudget() {
+		return prefetchBudget;
+	}
+
+	/**
+	 * Maximum number of preloaded views (pending or ready) held by the router;
+	 * the oldest one is discarded when a new preload exceeds it. Zero disables prefetching.
+	 */
+	public void setPrefetchBudget(int prefetchBudget) {
+		this.prefetchBudget = prefetchBudget;
+	}
+
+	public int getMaxNavigationDepth() {
+		return maxNavigationDepth;
+	}
+
+	/**
+	 * Maximum number of entries in the back stack; the oldest entries are dropped beyond it.
+	 */
+	public void setMaxNavigationDepth(int maxNavigationDepth) {
+		this.maxNavigationDepth = maxNavigationDepth;
+	}
+
+	public int getHydratedDepth() {
+		return hydratedDepth;
+	}
+
+	/**
+	 * Number of top back-stack entries that keep their scene graph and controller.
+	 * Deeper entries keep only the route and arguments and are reloaded on {@code back()}.
+	 */
+	public void setHydratedDepth(int hydratedDepth) {
+		this.hydratedDepth = hydratedDepth;
+	}
+
 }
\ No newline at end of file
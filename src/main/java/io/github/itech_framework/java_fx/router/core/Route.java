@@ -1,11 +1,16 @@
 package io.github.itech_framework.java_fx.router.core;
 
+import java.util.Collections;
+import java.util.List;
+
 public class Route {
 	private final String name;
 	private final String fxmlPath;
 	private final Class<?> controllerClass;
 	private String transitionName;
 	private String layout;
+	private boolean keepAlive;
+	private List<String> prefetch = Collections.emptyList();
 
 	public Route(String name, String fxmlPath, Class<?> controllerClass) {
 		this.name = name;
@@ -23,6 +28,24 @@ public class Route {
 		return this;
 	}
 
+	/**
+	 * Keeps the loaded view and controller alive after navigating away, so returning
+	 * to this route reattaches them and calls {@link Routable#onResume()} instead of reloading.
+	 */
+	public Route withKeepAlive() {
+		this.keepAlive = true;
+		return this;
+	}
+
+	/**
+	 * Routes the user is likely to open next from this one; the router preloads them
+	 * in the background once this route is shown.
+	 */
+	public Route withPrefetch(String... routeNames) {
+		this.prefetch = List.of(routeNames);
+		return this;
+	}
+
 	public String transitionName() {
 		return transitionName;
 	}
@@ -42,4 +65,12 @@ public class Route {
 	public String layout() {
 		return layout;
 	}
+
+	public boolean keepAlive() {
+		return keepAlive;
+	}
+
+	public List<String> prefetch() {
+		return prefetch;
+	}
 }
\ No newline at end of file
@@ -24,9 +24,9 @@ import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 import javafx.util.Duration;
-import io.github.itech_framework.core.utils.DataStorageUtil;
 import io.github.itech_framework.core.utils.validator.CommonValidator;
-import io.github.itech_framework.java_fx.router.config.RouterConfig;
+import io.github.itech_framework.java_fx.ITechJavaFxApplication;
+import io.github.itech_framework.java_fx.ui.theme.ThemeManager;
 import io.github.itech_framework.java_fx.utils.node.StyleUtils;
 
 import java.util.ArrayList;
@@ -123,9 +123,9 @@ public class ModalDialog {
     }
 
     private void applyDarkMode() {
-        Object darkModeValue = DataStorageUtil.load(RouterConfig.getDarkModeKey());
-        if (darkModeValue != null) {
-            boolean isDarkMode = Boolean.parseBoolean(darkModeValue.toString());
+        ThemeManager themeManager = ITechJavaFxApplication.router.getThemeManager();
+        if (themeManager.hasPreference()) {
+            boolean isDarkMode = themeManager.isDarkMode();
             rootPane.getStyleClass().remove("dark-mode");
             ownerStage.getScene().setFill(Color.WHITE);
             if (isDarkMode) {
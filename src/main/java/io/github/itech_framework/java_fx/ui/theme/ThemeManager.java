@@ -0,0 +1,161 @@
+package io.github.itech_framework.java_fx.ui.theme;
+
+import java.util.List;
+
+import io.github.itech_framework.core.utils.DataStorageUtil;
+import io.github.itech_framework.java_fx.router.config.RouterConfig;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.paint.Color;
+
+/**
+ * Applies the router stylesheets and the dark-mode theme to the primary scene.
+ * Stylesheets are applied once per scene and again only when the configured list changes.
+ * The dark-mode flag is read from storage once, kept in {@link #darkModeProperty()} and saved
+ * whenever it changes; changing it re-themes the current root without reloading the route, and
+ * every new root gets the current theme.
+ */
+public class ThemeManager {
+	public static final String DARK_MODE_STYLE_CLASS = "dark-mode";
+
+	private final RouterConfig config;
+	private final BooleanProperty darkMode = new SimpleBooleanProperty(this, "darkMode");
+	private final ChangeListener<Parent> rootListener = (obs, oldRoot, newRoot) -> applyTheme();
+	private Scene scene;
+	private List<String> appliedStyleSheets = List.of();
+	// true while the flag is being set from storage, so it is not written back
+	private boolean loading;
+	// false while no dark-mode value was ever stored or set, in which case the theme is left untouched
+	private boolean managed;
+
+	public ThemeManager(RouterConfig config) {
+		this.config = config;
+		readStoredPreference();
+		darkMode.addListener((obs, oldValue, newValue) -> {
+			managed = true;
+			if (!loading) {
+				DataStorageUtil.save(RouterConfig.getDarkModeKey(), Boolean.toString(newValue));
+			}
+			applyTheme();
+		});
+	}
+
+	/**
+	 * Starts managing the given scene, replacing any previously attached one.
+	 */
+	public void attach(Scene scene) {
+		if (this.scene == scene) {
+			return;
+		}
+		if (this.scene != null) {
+			this.scene.rootProperty().removeListener(rootListener);
+		}
+		this.scene = scene;
+		this.appliedStyleSheets = List.of();
+		scene.rootProperty().addListener(rootListener);
+		syncStyleSheets();
+		applyTheme();
+	}
+
+	/**
+	 * Applies changes of the router config stylesheets since the last call: removed ones are
+	 * taken off the scene and new ones added. A no-op when the list is unchanged.
+	 */
+	public void syncStyleSheets() {
+		if (scene == null) {
+			return;
+		}
+		List<String> styleSheets = config.getStyleSheets();
+		if (appliedStyleSheets.equals(styleSheets)) {
+			return;
+		}
+		List<String> sceneStyleSheets = scene.getStylesheets();
+		for (String applied : appliedStyleSheets) {
+			if (!styleSheets.contains(applied)) {
+				sceneStyleSheets.remove(applied);
+			}
+		}
+		for (String styleSheet : styleSheets) {
+			if (!sceneStyleSheets.contains(styleSheet)) {
+				sceneStyleSheets.add(styleSheet);
+			}
+		}
+		appliedStyleSheets = List.copyOf(styleSheets);
+	}
+
+	public BooleanProperty darkModeProperty() {
+		return darkMode;
+	}
+
+	public boolean isDarkMode() {
+		return darkMode.get();
+	}
+
+	/**
+	 * Sets the flag, saves it under {@link RouterConfig#getDarkModeKey()} and re-themes the
+	 * current root.
+	 */
+	public void setDarkMode(boolean darkMode) {
+		if (this.darkMode.get() != darkMode) {
+			// the property listener saves and applies the change
+			this.darkMode.set(darkMode);
+		} else if (!managed) {
+			managed = true;
+			DataStorageUtil.save(RouterConfig.getDarkModeKey(), Boolean.toString(darkMode));
+			applyTheme();
+		}
+	}
+
+	public void toggleDarkMode() {
+		setDarkMode(!isDarkMode());
+	}
+
+	/**
+	 * Whether a dark-mode preference was stored or set; without one the theme is left as the
+	 * stylesheets define it.
+	 */
+	public boolean hasPreference() {
+		return managed;
+	}
+
+	/**
+	 * Re-reads the dark-mode flag stored under {@link RouterConfig#getDarkModeKey()}, for
+	 * applications that save the preference themselves or change the key after startup.
+	 */
+	public void reload() {
+		readStoredPreference();
+		applyTheme();
+	}
+
+	private void readStoredPreference() {
+		Object value = DataStorageUtil.load(RouterConfig.getDarkModeKey());
+		if (value != null) {
+			managed = true;
+			loading = true;
+			try {
+				darkMode.set(Boolean.parseBoolean(value.toString()));
+			} finally {
+				loading = false;
+			}
+		}
+	}
+
+	private void applyTheme() {
+		if (!managed || scene == null || scene.getRoot() == null) {
+			return;
+		}
+		List<String> styleClass = scene.getRoot().getStyleClass();
+		if (darkMode.get()) {
+			if (!styleClass.contains(DARK_MODE_STYLE_CLASS)) {
+				styleClass.add(DARK_MODE_STYLE_CLASS);
+			}
+			scene.setFill(Color.BLACK);
+		} else {
+			styleClass.remove(DARK_MODE_STYLE_CLASS);
+			scene.setFill(Color.WHITE);
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package io.github.itech_framework.java_fx.utils.concurrent;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Executors of {@link BackgroundTaskService}, applied with
+ * {@link BackgroundTaskService#configure(BackgroundTaskConfig)} before the service is first used.
+ *
+ * <pre>{@code
+ * BackgroundTaskService.configure(BackgroundTaskConfig.builder()
+ *         .workerThreads(8)
+ *         .virtualThreads(true)
+ *         .build());
+ * }</pre>
+ */
+@Getter
+@Builder
+public class BackgroundTaskConfig {
+    /** Size of the worker pool running background tasks. */
+    @Builder.Default
+    private final int workerThreads = 4;
+
+    /** Size of the pool running scheduled tasks. */
+    @Builder.Default
+    private final int scheduledThreads = 2;
+
+    /**
+     * Runs every background task on its own virtual thread instead of the worker pool, for
+     * IO-bound work. Falls back to the worker pool on JDKs without virtual threads.
+     */
+    private final boolean virtualThreads;
+
+    /** Replaces the worker pool; {@link #workerThreads} and {@link #virtualThreads} are ignored. */
+    private final ExecutorService executor;
+
+    /** Replaces the scheduled pool; {@link #scheduledThreads} is ignored. */
+    private final ScheduledExecutorService scheduledExecutor;
+
+    @Builder.Default
+    private final String threadNamePrefix = "background-task";
+
+    /**
+     * Minimum time between two progress deliveries of a task. Zero delivers the latest
+     * progress at most once per FX pulse.
+     */
+    @Builder.Default
+    private final Duration progressInterval = Duration.ZERO;
+
+    /** Results of {@code executeKeyed} kept for their time to live, least recently used first out. */
+    @Builder.Default
+    private final int maxMemoizedResults = 256;
+
+    /**
+     * Time {@link BackgroundTaskService#shutdown()} gives accepted tasks to finish before queued
+     * ones are abandoned and running ones interrupted.
+     */
+    @Builder.Default
+    private final Duration shutdownTimeout = Duration.ofSeconds(5);
+
+    public static BackgroundTaskConfig defaults() {
+        return builder().build();
+    }
+}
@@ -1,102 +1,416 @@
 package io.github.itech_framework.java_fx.utils.concurrent;
 
 import javafx.application.Platform;
-import javafx.concurrent.Service;
 import javafx.concurrent.Task;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 public class BackgroundTaskService {
-    private static final BackgroundTaskService INSTANCE = new BackgroundTaskService();
-    private final ExecutorService executor = Executors.newFixedThreadPool(4);
-    private final ScheduledExecutorService scheduledExecutor = Executors.newScheduledThreadPool(2);
+    private static final Logger logger = LogManager.getLogger(BackgroundTaskService.class);
+    private static BackgroundTaskConfig config = BackgroundTaskConfig.defaults();
+    private static volatile BackgroundTaskService instance;
+
+    private final ExecutorService executor;
+    private final ScheduledExecutorService scheduledExecutor;
+    private final AtomicInteger runningTasks = new AtomicInteger();
+    private final AtomicInteger runningScheduledTasks = new AtomicInteger();
+    private final long progressIntervalNanos;
+    private final Duration shutdownTimeout;
+    private ShutdownReport shutdownReport;
+    private final KeyedTasks keyedTasks;
+    private final KeyedSchedules keyedSchedules;
+    private static final ThreadLocal<ProgressThrottle> currentProgress = new ThreadLocal<>();
+    // owners are held weakly so a forgotten controller does not stay reachable through its tasks
+    private static final Map<Object, Set<TaskHandle>> ownedTasks = new WeakHashMap<>();
 
     public static BackgroundTaskService getInstance() {
-        return INSTANCE;
+        BackgroundTaskService service = instance;
+        if (service == null) {
+            synchronized (BackgroundTaskService.class) {
+                service = instance;
+                if (service == null) {
+                    service = new BackgroundTaskService(config);
+                    instance = service;
+                }
+            }
+        }
+        return service;
+    }
+
+    /**
+     * Sets the executors used by the service. Must be called before the service is first
+     * used, e.g. at the start of {@code onInit()}.
+     *
+     * @throws IllegalStateException if the service is already running
+     */
+    public static synchronized void configure(BackgroundTaskConfig newConfig) {
+        if (instance != null) {
+            throw new IllegalStateException("BackgroundTaskService is already running, configure it before first use");
+        }
+        config = newConfig;
+    }
+
+    /**
+     * Returns whether the service was created, i.e. whether there may be work to drain.
+     */
+    public static boolean isStarted() {
+        return instance != null;
+    }
+
+    private BackgroundTaskService(BackgroundTaskConfig config) {
+        this.executor = createExecutor(config);
+        this.scheduledExecutor = config.getScheduledExecutor() != null
+                ? config.getScheduledExecutor()
+                : Executors.newScheduledThreadPool(config.getScheduledThreads(),
+                        threadFactory(config.getThreadNamePrefix() + "-scheduler"));
+        this.progressIntervalNanos = config.getProgressInterval().toNanos();
+        this.shutdownTimeout = config.getShutdownTimeout();
+        this.keyedTasks = new KeyedTasks(this, config.getMaxMemoizedResults());
+        this.keyedSchedules = new KeyedSchedules(this, scheduledExecutor);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, config.getThreadNamePrefix() + "-shutdown"));
+    }
+
+    private static ExecutorService createExecutor(BackgroundTaskConfig config) {
+        if (config.getExecutor() != null) {
+            return config.getExecutor();
+        }
+        if (config.isVirtualThreads()) {
+            ExecutorService virtual = VirtualThreads.newPerTaskExecutor();
+            if (virtual != null) {
+                return virtual;
+            }
+            logger.info("Virtual threads are not available on this JDK, using {} worker threads",
+                    config.getWorkerThreads());
+        }
+        return new PriorityThreadPool(config.getWorkerThreads(), threadFactory(config.getThreadNamePrefix()));
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return task -> new Thread(task, prefix + "-" + counter.incrementAndGet());
     }
 
-    private BackgroundTaskService() {
-        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown));
+    /**
+     * Worker pool shared by fire-and-forget tasks and background route loading.
+     */
+    public ExecutorService getExecutor() {
+        return executor;
     }
 
-    public <T> void executeTask(Callable<T> task,
-                                Consumer<T> onSuccess,
-                                Consumer<Exception> onError) {
-        executeTask(task, onSuccess, onError, null);
+    public <T> TaskHandle executeTask(Callable<T> task,
+                                      Consumer<T> onSuccess,
+                                      Consumer<Exception> onError) {
+        return executeTask(TaskPriority.USER_VISIBLE, task, onSuccess, onError, null);
     }
 
-    public <T> void executeTask(Callable<T> task,
-                                Consumer<T> onSuccess,
-                                Consumer<Exception> onError,
-                                Consumer<Double> onProgress) {
-        Service<T> service = new Service<>() {
+    public <T> TaskHandle executeTask(Callable<T> task,
+                                      Consumer<T> onSuccess,
+                                      Consumer<Exception> onError,
+                                      Consumer<Double> onProgress) {
+        return executeTask(TaskPriority.USER_VISIBLE, task, onSuccess, onError, onProgress);
+    }
+
+    /**
+     * Runs the task on the worker pool in the given lane. {@code onSuccess}, {@code onError} and
+     * {@code onProgress} are called on the FX thread; none of them is called once the returned
+     * handle was cancelled.
+     */
+    public <T> TaskHandle executeTask(TaskPriority priority,
+                                      Callable<T> task,
+                                      Consumer<T> onSuccess,
+                                      Consumer<Exception> onError,
+                                      Consumer<Double> onProgress) {
+        ProgressThrottle progress = onProgress != null
+                ? new ProgressThrottle(onProgress, progressIntervalNanos, scheduledExecutor)
+                : null;
+        Task<T> fxTask = new Task<>() {
+            @Override
+            protected T call() throws Exception {
+                currentProgress.set(progress);
+                try {
+                    return task.call();
+                } finally {
+                    currentProgress.remove();
+                }
+            }
+
             @Override
-            protected Task<T> createTask() {
-                return new Task<>() {
-                    @Override
-                    protected T call() throws Exception {
-                        return task.call();
-                    }
-
-                    @Override
-                    protected void updateProgress(double workDone, double max) {
-                        Platform.runLater(() -> {
-                            if (onProgress != null) {
-                                onProgress.accept(workDone / max);
-                            }
-                        });
-                        super.updateProgress(workDone, max);
-                    }
-                };
+            protected void updateProgress(double workDone, double max) {
+                if (progress != null) {
+                    progress.report(workDone / max);
+                }
+                super.updateProgress(workDone, max);
             }
         };
 
-        service.setOnSucceeded(e -> {
+        fxTask.setOnSucceeded(e -> {
+            if (progress != null) {
+                progress.flush();
+            }
             if (onSuccess != null) {
-                onSuccess.accept(service.getValue());
+                onSuccess.accept(fxTask.getValue());
             }
         });
 
-        service.setOnFailed(e -> {
-            Throwable ex = service.getException();
+        fxTask.setOnFailed(e -> {
+            if (progress != null) {
+                progress.flush();
+            }
+            Throwable ex = fxTask.getException();
             if (onError != null && ex != null) {
                 onError.accept(ex instanceof Exception ?
                         (Exception) ex : new Exception(ex));
             }
         });
 
-        // Proper way to start JavaFX Service
-        service.start();
+        fxTask.setOnCancelled(e -> {
+            if (progress != null) {
+                progress.close();
+            }
+        });
+
+        // Runs on the configured executor; the handlers above are called on the FX thread
+        return submit(fxTask, priority);
+    }
+
+    /**
+     * Reports progress of the task running on the calling thread, i.e. from inside a callable
+     * passed to {@code executeTask} or {@link #executeProgressTask(ProgressTask)}. Updates are
+     * coalesced: the FX thread receives the latest value at most once per pulse, or once per
+     * {@link BackgroundTaskConfig#getProgressInterval()}. Does nothing on other threads.
+     */
+    public static void updateProgress(double workDone, double max) {
+        ProgressThrottle progress = currentProgress.get();
+        if (progress != null && max > 0) {
+            progress.report(workDone / max);
+        }
     }
 
     // Fire-and-forget tasks
-    public void executeRunnable(Runnable task) {
-        executor.execute(() -> {
+    public TaskHandle executeRunnable(Runnable task) {
+        return executeRunnable(TaskPriority.USER_VISIBLE, task);
+    }
+
+    public TaskHandle executeRunnable(TaskPriority priority, Runnable task) {
+        return submit(new FutureTask<Void>(() -> {
             try {
                 task.run();
             } catch (Exception e) {
                 handleUncaughtException(e);
             }
-        });
+        }, null), priority);
+    }
+
+    TaskHandle submit(RunnableFuture<?> future, TaskPriority priority) {
+        TaskHandle handle = new TaskHandle(future, priority);
+        Submission command = new Submission(future, handle);
+        if (executor instanceof PriorityThreadPool pool) {
+            pool.execute(command, priority);
+        } else {
+            executor.execute(command);
+        }
+        return handle;
+    }
+
+    // Keyed tasks
+    public <T> TaskHandle executeKeyed(Object key,
+                                       Callable<T> task,
+                                       Consumer<T> onSuccess,
+                                       Consumer<Exception> onError) {
+        return executeKeyed(key, Duration.ZERO, TaskPriority.USER_VISIBLE, task, onSuccess, onError);
+    }
+
+    public <T> TaskHandle executeKeyed(Object key,
+                                       Duration ttl,
+                                       Callable<T> task,
+                                       Consumer<T> onSuccess,
+                                       Consumer<Exception> onError) {
+        return executeKeyed(key, ttl, TaskPriority.USER_VISIBLE, task, onSuccess, onError);
+    }
+
+    /**
+     * Runs {@code task} once for all concurrent callers using an equal {@code key}; later callers
+     * join the computation in flight and their callbacks are called on the FX thread in the same
+     * pulse. A successful result is kept for {@code ttl} and handed to callers of the same key
+     * without running the task again; failures are never kept. At most
+     * {@link BackgroundTaskConfig#getMaxMemoizedResults()} results are kept, least recently used
+     * first out.
+     *
+     * <p>Cancelling a returned handle only drops that caller's callbacks; the computation is
+     * cancelled once every caller has cancelled. The priority of the first caller applies.</p>
+     */
+    public <T> TaskHandle executeKeyed(Object key,
+                                       Duration ttl,
+                                       TaskPriority priority,
+                                       Callable<T> task,
+                                       Consumer<T> onSuccess,
+                                       Consumer<Exception> onError) {
+        return keyedTasks.execute(key, ttl, priority, task, onSuccess, onError);
+    }
+
+    /**
+     * Drops the memoized result of {@code key}; a computation in flight is not affected.
+     */
+    public void invalidate(Object key) {
+        keyedTasks.invalidate(key);
+    }
+
+    public void invalidateAll() {
+        keyedTasks.invalidateAll();
+    }
+
+    public int getInFlightKeyedTasks() {
+        return keyedTasks.inFlightCount();
+    }
+
+    public int getMemoizedResults() {
+        return keyedTasks.memoizedCount();
+    }
+
+    /**
+     * Creates a group of tasks that are joined with a single FX callback.
+     */
+    public TaskGroup newTaskGroup() {
+        return new TaskGroup(this);
     }
 
     // Scheduled tasks
     public ScheduledFuture<?> scheduleTask(Runnable task,
                                            long delay,
                                            TimeUnit unit) {
-        return scheduledExecutor.schedule(() -> {
+        return scheduledExecutor.schedule(tracked(() -> {
             try {
                 task.run();
             } catch (Exception e) {
                 handleUncaughtException(e);
             }
-        }, delay, unit);
+        }, runningScheduledTasks), delay, unit);
+    }
+
+    /**
+     * Runs {@code task} on the worker pool once no other call with an equal {@code key} arrived
+     * for {@code quietPeriod}; only the task of the latest call runs. Suited for
+     * search-as-you-type and autosave.
+     */
+    public void debounce(Object key, Duration quietPeriod, Runnable task) {
+        keyedSchedules.debounce(key, quietPeriod, task);
+    }
+
+    /**
+     * Runs {@code task} at once if no call with an equal {@code key} ran within the last
+     * {@code interval}; otherwise the latest such call runs when the interval ends.
+     */
+    public void throttle(Object key, Duration interval, Runnable task) {
+        keyedSchedules.throttle(key, interval, task);
+    }
+
+    /**
+     * Runs {@code task} on the worker pool every {@code period}, skipping ticks while the
+     * previous run is still busy so runs never pile up. Replaces an earlier schedule with an
+     * equal {@code key}.
+     */
+    public ScheduledFuture<?> scheduleAtFixedRate(Object key, Duration initialDelay, Duration period, Runnable task) {
+        return keyedSchedules.scheduleAtFixedRate(key, initialDelay, period, task);
+    }
+
+    /**
+     * Cancels the pending debounced or throttled call and the periodic schedule of {@code key}.
+     * A run that already started is not interrupted.
+     *
+     * @return whether anything was pending
+     */
+    public boolean cancelScheduled(Object key) {
+        return keyedSchedules.cancel(key);
     }
 
     // Progress-aware tasks
     @SuppressWarnings({"unchecked", "rawtypes"})
-    public void executeProgressTask(ProgressTask task) {
-        executeTask(task, task::onSuccess, task::onError, task::onProgress);
+    public TaskHandle executeProgressTask(ProgressTask task) {
+        return executeTask(task, task::onSuccess, task::onError, task::onProgress);
+    }
+
+    /**
+     * Interrupts every unfinished task bound to {@code owner} with {@link TaskHandle#bindTo(Object)}.
+     *
+     * @return the number of cancelled tasks
+     */
+    public static int cancelOwnedTasks(Object owner) {
+        List<TaskHandle> handles;
+        synchronized (ownedTasks) {
+            Set<TaskHandle> owned = ownedTasks.remove(owner);
+            if (owned == null) {
+                return 0;
+            }
+            handles = new ArrayList<>(owned);
+        }
+        int cancelled = 0;
+        for (TaskHandle handle : handles) {
+            if (handle.interrupt()) {
+                cancelled++;
+            }
+        }
+        return cancelled;
+    }
+
+    static void bind(Object owner, TaskHandle handle) {
+        synchronized (ownedTasks) {
+            ownedTasks.computeIfAbsent(owner, key -> new HashSet<>()).add(handle);
+        }
+        // the task may have finished before it was bound
+        if (handle.isDone()) {
+            unbind(handle);
+        }
+    }
+
+    static void unbind(TaskHandle handle) {
+        Object owner = handle.owner();
+        if (owner == null) {
+            return;
+        }
+        synchronized (ownedTasks) {
+            Set<TaskHandle> owned = ownedTasks.get(owner);
+            if (owned != null && owned.remove(handle) && owned.isEmpty()) {
+                ownedTasks.remove(owner);
+            }
+        }
+    }
+
+    private static Runnable tracked(Runnable task, AtomicInteger running) {
+        return () -> {
+            running.incrementAndGet();
+            try {
+                task.run();
+            } finally {
+                running.decrementAndGet();
+            }
+        };
+    }
+
+    public ExecutorMetrics getWorkerMetrics() {
+        return metrics("worker", executor, runningTasks);
+    }
+
+    public ExecutorMetrics getSchedulerMetrics() {
+        return metrics("scheduler", scheduledExecutor, runningScheduledTasks);
+    }
+
+    private static ExecutorMetrics metrics(String name, ExecutorService executor, AtomicInteger running) {
+        if (executor instanceof ThreadPoolExecutor pool) {
+            return new ExecutorMetrics(name, pool.getPoolSize(), pool.getMaximumPoolSize(), pool.getActiveCount(),
+                    pool.getQueue().size(), pool.getCompletedTaskCount(), running.get());
+        }
+        return new ExecutorMetrics(name, -1, -1, -1, -1, -1, running.get());
     }
 
     private void handleUncaughtException(Throwable throwable) {
@@ -106,15 +420,100 @@ public class BackgroundTaskService {
         });
     }
 
-    public void shutdown() {
-        executor.shutdownNow();
-        scheduledExecutor.shutdownNow();
-        try {
-            if (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
-                System.err.println("Background tasks did not terminate in time");
+    /**
+     * Drains the service within {@link BackgroundTaskConfig#getShutdownTimeout()}.
+     *
+     * @see #shutdown(Duration)
+     */
+    public ShutdownReport shutdown() {
+        return shutdown(shutdownTimeout);
+    }
+
+    /**
+     * Stops accepting work and lets accepted work finish within {@code timeout}. Pending debounced
+     * and throttled calls are started at once and new ones rejected; periodic schedules stop, and
+     * delayed tasks not due by the time the worker pool has drained are dropped.
+     * Tasks still queued at the deadline are abandoned and their handles cancelled, tasks still
+     * running are interrupted. FX-thread callbacks of tasks finishing during the drain may not be
+     * delivered if the toolkit is exiting. Later calls return the first report.
+     */
+    public synchronized ShutdownReport shutdown(Duration timeout) {
+        if (shutdownReport != null) {
+            return shutdownReport;
+        }
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+
+        int droppedSchedules = keyedSchedules.flush();
+        executor.shutdown();
+        // the scheduler stays up until the workers drained: their progress throttles and task
+        // group timeouts still schedule on it
+        boolean workersDrained = awaitTermination(executor, deadline);
+
+        if (scheduledExecutor instanceof ScheduledThreadPoolExecutor scheduler) {
+            scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+            // timers cancelled by the flush or by finished tasks are still queued
+            droppedSchedules += (int) scheduler.getQueue().stream()
+                    .filter(queued -> !(queued instanceof Future<?> future && future.isCancelled()))
+                    .count();
+        }
+        scheduledExecutor.shutdown();
+        boolean drained = awaitTermination(scheduledExecutor, deadline) && workersDrained;
+        int abandoned = 0;
+        int interrupted = 0;
+        if (!drained) {
+            interrupted = runningTasks.get() + runningScheduledTasks.get();
+            for (Runnable queued : executor.shutdownNow()) {
+                if (PriorityThreadPool.unwrap(queued) instanceof Submission submission) {
+                    submission.handle.cancel();
+                }
+                abandoned++;
             }
+            droppedSchedules += scheduledExecutor.shutdownNow().size();
+        }
+
+        shutdownReport = new ShutdownReport(drained, abandoned, interrupted, droppedSchedules,
+                Duration.ofNanos(System.nanoTime() - start));
+        if (drained) {
+            logger.debug("Background tasks drained: {}", shutdownReport);
+        } else {
+            logger.warn("Background tasks did not drain within {}: {} queued tasks abandoned, {} running tasks interrupted",
+                    timeout, abandoned, interrupted);
+        }
+        return shutdownReport;
+    }
+
+    private static boolean awaitTermination(ExecutorService executor, long deadline) {
+        try {
+            return executor.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
+            return executor.isTerminated();
+        }
+    }
+
+    /**
+     * Worker pool command of a submitted task, recognizable among the commands returned by
+     * {@code shutdownNow()}.
+     */
+    private final class Submission implements Runnable {
+        private final RunnableFuture<?> future;
+        private final TaskHandle handle;
+
+        private Submission(RunnableFuture<?> future, TaskHandle handle) {
+            this.future = future;
+            this.handle = handle;
+        }
+
+        @Override
+        public void run() {
+            runningTasks.incrementAndGet();
+            try {
+                future.run();
+            } finally {
+                unbind(handle);
+                runningTasks.decrementAndGet();
+            }
         }
     }
 
@@ -0,0 +1,11 @@
+package io.github.itech_framework.java_fx.utils.concurrent;
+
+/**
+ * Snapshot of one {@link BackgroundTaskService} executor. Pool figures are {@code -1} for
+ * executors that are not thread pools, e.g. virtual threads.
+ *
+ * @param runningTasks tasks submitted through the service that are currently running
+ */
+public record ExecutorMetrics(String name, int poolSize, int maxPoolSize, int activeThreads, long queuedTasks,
+                              long completedTasks, int runningTasks) {
+}
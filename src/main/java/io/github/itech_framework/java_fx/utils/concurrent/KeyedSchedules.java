@@ -0,0 +1,247 @@
+package io.github.itech_framework.java_fx.utils.concurrent;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Keyed debounce, throttle and skip-if-busy periodic schedules of {@link BackgroundTaskService}.
+ * Timers run on the scheduler; the tasks themselves run on the worker pool.
+ */
+final class KeyedSchedules {
+    private static final Logger logger = LogManager.getLogger(KeyedSchedules.class);
+
+    private final BackgroundTaskService service;
+    private final ScheduledExecutorService scheduler;
+    private final Object lock = new Object();
+    private final Map<Object, Debounce> debounces = new HashMap<>();
+    private final Map<Object, Throttle> throttles = new HashMap<>();
+    private final Map<Object, Periodic> periodics = new HashMap<>();
+    // set by flush(); the scheduler outlives it while the workers drain
+    private boolean closed;
+
+    KeyedSchedules(BackgroundTaskService service, ScheduledExecutorService scheduler) {
+        this.service = service;
+        this.scheduler = scheduler;
+    }
+
+    void debounce(Object key, Duration quietPeriod, Runnable task) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(task, "task");
+        long delay = quietPeriod.toNanos();
+        synchronized (lock) {
+            checkOpen();
+            Debounce debounce = debounces.get(key);
+            if (debounce == null) {
+                debounce = new Debounce(key);
+                debounces.put(key, debounce);
+                debounce.timer = scheduler.schedule(debounce, delay, NANOSECONDS);
+            }
+            // the timer is moved to the latest deadline when it fires instead of being rescheduled per call
+            debounce.task = task;
+            debounce.deadline = System.nanoTime() + delay;
+        }
+    }
+
+    void throttle(Object key, Duration interval, Runnable task) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(task, "task");
+        synchronized (lock) {
+            checkOpen();
+            Throttle throttle = throttles.get(key);
+            if (throttle != null) {
+                throttle.pending = task;
+                return;
+            }
+            throttle = new Throttle(key, interval.toNanos());
+            throttles.put(key, throttle);
+            throttle.timer = scheduler.schedule(throttle, throttle.interval, NANOSECONDS);
+        }
+        service.executeRunnable(task);
+    }
+
+    ScheduledFuture<?> scheduleAtFixedRate(Object key, Duration initialDelay, Duration period, Runnable task) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(task, "task");
+        Periodic periodic = new Periodic(key, task);
+        synchronized (lock) {
+            checkOpen();
+            Periodic previous = periodics.put(key, periodic);
+            if (previous != null) {
+                previous.timer.cancel(false);
+            }
+            periodic.timer = scheduler.scheduleAtFixedRate(periodic, initialDelay.toNanos(), period.toNanos(),
+                    NANOSECONDS);
+        }
+        return periodic.timer;
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new RejectedExecutionException("BackgroundTaskService is shutting down");
+        }
+    }
+
+    boolean cancel(Object key) {
+        boolean cancelled = false;
+        synchronized (lock) {
+            Debounce debounce = debounces.remove(key);
+            if (debounce != null) {
+                debounce.timer.cancel(false);
+                cancelled = true;
+            }
+            Throttle throttle = throttles.remove(key);
+            if (throttle != null) {
+                throttle.timer.cancel(false);
+                cancelled |= throttle.pending != null;
+            }
+            Periodic periodic = periodics.remove(key);
+            if (periodic != null) {
+                periodic.timer.cancel(false);
+                cancelled = true;
+            }
+        }
+        return cancelled;
+    }
+
+    /**
+     * Hands pending debounced and trailing throttled calls to the worker pool at once, stops
+     * the periodic schedules and rejects new calls, so no call is left waiting on the scheduler
+     * when it shuts down.
+     *
+     * @return the number of stopped periodic schedules
+     */
+    int flush() {
+        List<Runnable> pending = new ArrayList<>();
+        int stopped;
+        synchronized (lock) {
+            closed = true;
+            for (Debounce debounce : debounces.values()) {
+                debounce.timer.cancel(false);
+                pending.add(debounce.task);
+            }
+            for (Throttle throttle : throttles.values()) {
+                throttle.timer.cancel(false);
+                if (throttle.pending != null) {
+                    pending.add(throttle.pending);
+                }
+            }
+            for (Periodic periodic : periodics.values()) {
+                periodic.timer.cancel(false);
+            }
+            stopped = periodics.size();
+            debounces.clear();
+            throttles.clear();
+            periodics.clear();
+        }
+        pending.forEach(service::executeRunnable);
+        return stopped;
+    }
+
+    private final class Debounce implements Runnable {
+        private final Object key;
+        private Runnable task;
+        private long deadline;
+        private ScheduledFuture<?> timer;
+
+        private Debounce(Object key) {
+            this.key = key;
+        }
+
+        @Override
+        public void run() {
+            Runnable ready;
+            synchronized (lock) {
+                if (debounces.get(key) != this) {
+                    return;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining > 0) {
+                    timer = scheduler.schedule(this, remaining, NANOSECONDS);
+                    return;
+                }
+                debounces.remove(key);
+                ready = task;
+            }
+            service.executeRunnable(ready);
+        }
+    }
+
+    /**
+     * Runs the first call at once and the latest call of each following interval at its end.
+     */
+    private final class Throttle implements Runnable {
+        private final Object key;
+        private final long interval;
+        private Runnable pending;
+        private ScheduledFuture<?> timer;
+
+        private Throttle(Object key, long interval) {
+            this.key = key;
+            this.interval = interval;
+        }
+
+        @Override
+        public void run() {
+            Runnable trailing;
+            synchronized (lock) {
+                if (throttles.get(key) != this) {
+                    return;
+                }
+                trailing = pending;
+                pending = null;
+                if (trailing == null) {
+                    throttles.remove(key);
+                    return;
+                }
+                timer = scheduler.schedule(this, interval, NANOSECONDS);
+            }
+            service.executeRunnable(trailing);
+        }
+    }
+
+    private final class Periodic implements Runnable {
+        private final Object key;
+        private final Runnable task;
+        private final AtomicBoolean busy = new AtomicBoolean();
+        private ScheduledFuture<?> timer;
+
+        private Periodic(Object key, Runnable task) {
+            this.key = key;
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            if (!busy.compareAndSet(false, true)) {
+                logger.debug("Skipping periodic task {}, its previous run is still busy", key);
+                return;
+            }
+            try {
+                service.executeRunnable(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        busy.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // nothing will run to clear the flag, the next tick tries again
+                busy.set(false);
+                logger.warn("Periodic task {} was rejected by the worker pool: {}", key, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package io.github.itech_framework.java_fx.utils.concurrent;
+
+import javafx.application.Platform;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Keyed submissions of {@link BackgroundTaskService}: concurrent callers with the same key share
+ * one computation, and successful results can be memoized for a while in a bounded LRU.
+ */
+final class KeyedTasks {
+    private final BackgroundTaskService service;
+    private final Object lock = new Object();
+    private final Map<Object, InFlight<?>> inFlight = new HashMap<>();
+    private final Map<Object, Memo> memos;
+
+    KeyedTasks(BackgroundTaskService service, int maxMemoized) {
+        this.service = service;
+        this.memos = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Memo> eldest) {
+                return size() > maxMemoized;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> TaskHandle execute(Object key, Duration ttl, TaskPriority priority, Callable<T> task,
+                           Consumer<T> onSuccess, Consumer<Exception> onError) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(task, "task");
+        InFlight<T> flight;
+        Waiter<T> waiter;
+        boolean start = false;
+        synchronized (lock) {
+            Memo memo = memos.get(key);
+            if (memo != null) {
+                if (memo.expiresAt - System.nanoTime() > 0) {
+                    T value = (T) memo.value;
+                    if (onSuccess != null) {
+                        Platform.runLater(() -> onSuccess.accept(value));
+                    }
+                    return new TaskHandle(CompletableFuture.completedFuture(value), priority);
+                }
+                memos.remove(key);
+            }
+            flight = (InFlight<T>) inFlight.get(key);
+            if (flight == null) {
+                flight = new InFlight<>(key, task);
+                inFlight.put(key, flight);
+                start = true;
+            }
+            // the longest requested lifetime wins
+            flight.ttlNanos = Math.max(flight.ttlNanos, ttl.toNanos());
+            waiter = new Waiter<>(flight, onSuccess, onError);
+            flight.waiters.add(waiter);
+            waiter.handle = new TaskHandle(waiter, priority);
+        }
+        if (start) {
+            try {
+                service.submit(flight.computation, priority);
+            } catch (RejectedExecutionException e) {
+                reject(flight, e);
+                throw e;
+            }
+        }
+        return waiter.handle;
+    }
+
+    void invalidate(Object key) {
+        synchronized (lock) {
+            memos.remove(key);
+        }
+    }
+
+    void invalidateAll() {
+        synchronized (lock) {
+            memos.clear();
+        }
+    }
+
+    int inFlightCount() {
+        synchronized (lock) {
+            return inFlight.size();
+        }
+    }
+
+    int memoizedCount() {
+        synchronized (lock) {
+            return memos.size();
+        }
+    }
+
+    private <T> void complete(InFlight<T> flight) {
+        T value = null;
+        Exception error = null;
+        try {
+            value = flight.computation.get();
+        } catch (CancellationException e) {
+            // every caller cancelled, nobody to notify
+            synchronized (lock) {
+                inFlight.remove(flight.key, flight);
+            }
+            return;
+        } catch (ExecutionException e) {
+            error = e.getCause() instanceof Exception ? (Exception) e.getCause() : new Exception(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        List<Waiter<T>> waiters;
+        synchronized (lock) {
+            inFlight.remove(flight.key, flight);
+            flight.completed = true;
+            waiters = new ArrayList<>(flight.waiters);
+            if (error == null && flight.ttlNanos > 0) {
+                memos.put(flight.key, new Memo(value, System.nanoTime() + flight.ttlNanos));
+            }
+        }
+
+        T result = value;
+        Exception failure = error;
+        // one FX round-trip for every caller sharing the computation
+        Platform.runLater(() -> {
+            for (Waiter<T> waiter : waiters) {
+                waiter.deliver(result, failure);
+            }
+        });
+    }
+
+    /**
+     * Fails every caller that joined a computation the executor refused, so the key does not stay
+     * in flight forever.
+     */
+    private <T> void reject(InFlight<T> flight, RejectedExecutionException error) {
+        List<Waiter<T>> waiters;
+        synchronized (lock) {
+            inFlight.remove(flight.key, flight);
+            flight.completed = true;
+            waiters = new ArrayList<>(flight.waiters);
+        }
+        Platform.runLater(() -> {
+            for (Waiter<T> waiter : waiters) {
+                waiter.deliver(null, error);
+            }
+        });
+    }
+
+    private void detach(Waiter<?> waiter, boolean mayInterrupt) {
+        InFlight<?> flight = waiter.flight;
+        boolean abandoned;
+        synchronized (lock) {
+            flight.waiters.remove(waiter);
+            abandoned = flight.waiters.isEmpty() && !flight.completed;
+            if (abandoned) {
+                inFlight.remove(flight.key, flight);
+            }
+        }
+        if (abandoned) {
+            flight.computation.cancel(mayInterrupt);
+        }
+        BackgroundTaskService.unbind(waiter.handle);
+    }
+
+    private final class InFlight<T> {
+        private final Object key;
+        private final FutureTask<T> computation;
+        private final List<Waiter<T>> waiters = new ArrayList<>(2);
+        private long ttlNanos;
+        private boolean completed;
+
+        private InFlight(Object key, Callable<T> task) {
+            this.key = key;
+            this.computation = new FutureTask<>(task) {
+                @Override
+                protected void done() {
+                    complete(InFlight.this);
+                }
+            };
+        }
+    }
+
+    /**
+     * One caller of a shared computation. Cancelling it drops only this caller's callbacks; the
+     * computation is cancelled with the last caller.
+     */
+    private final class Waiter<T> extends CompletableFuture<T> {
+        private final InFlight<T> flight;
+        private final Consumer<T> onSuccess;
+        private final Consumer<Exception> onError;
+        private TaskHandle handle;
+
+        private Waiter(InFlight<T> flight, Consumer<T> onSuccess, Consumer<Exception> onError) {
+            this.flight = flight;
+            this.onSuccess = onSuccess;
+            this.onError = onError;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                detach(this, mayInterruptIfRunning);
+            }
+            return cancelled;
+        }
+
+        private void deliver(T value, Exception error) {
+            if (error == null) {
+                if (complete(value) && onSuccess != null) {
+                    onSuccess.accept(value);
+                }
+            } else if (completeExceptionally(error) && onError != null) {
+                onError.accept(error);
+            }
+            BackgroundTaskService.unbind(handle);
+        }
+    }
+
+    private record Memo(Object value, long expiresAt) {
+    }
+}
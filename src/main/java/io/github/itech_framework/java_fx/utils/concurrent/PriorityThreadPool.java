@@ -0,0 +1,55 @@
+package io.github.itech_framework.java_fx.utils.concurrent;
+
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fixed thread pool whose queue is ordered by {@link TaskPriority}, then by submission.
+ * Commands submitted without a priority, e.g. by {@code CompletableFuture}, are user-visible.
+ */
+final class PriorityThreadPool extends ThreadPoolExecutor {
+    private final AtomicLong sequence = new AtomicLong();
+
+    PriorityThreadPool(int threads, ThreadFactory threadFactory) {
+        super(threads, threads, 0L, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>(), threadFactory);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (command instanceof PrioritizedCommand) {
+            super.execute(command);
+        } else {
+            execute(command, TaskPriority.USER_VISIBLE);
+        }
+    }
+
+    void execute(Runnable command, TaskPriority priority) {
+        super.execute(new PrioritizedCommand(command, priority, sequence.getAndIncrement()));
+    }
+
+    /**
+     * Returns the command submitted to the pool, e.g. for the runnables returned by
+     * {@code shutdownNow()}.
+     */
+    static Runnable unwrap(Runnable queued) {
+        return queued instanceof PrioritizedCommand prioritized ? prioritized.command() : queued;
+    }
+
+    private record PrioritizedCommand(Runnable command, TaskPriority priority, long sequence)
+            implements Runnable, Comparable<PrioritizedCommand> {
+
+        @Override
+        public void run() {
+            command.run();
+        }
+
+        @Override
+        public int compareTo(PrioritizedCommand other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package io.github.itech_framework.java_fx.utils.concurrent;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Delivers progress of one task to the FX thread, latest value wins. At most one delivery is
+ * pending at any time, so a task reports at most once per FX pulse; with an interval, at most
+ * once per interval.
+ */
+final class ProgressThrottle {
+    private final Consumer<Double> onProgress;
+    private final long intervalNanos;
+    private final ScheduledExecutorService scheduler;
+
+    private final AtomicLong latest = new AtomicLong(Double.doubleToRawLongBits(-1));
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    // nanoTime has an arbitrary origin, so "never delivered" is one interval before creation
+    private volatile long lastDelivery;
+    private volatile boolean closed;
+    private double delivered = -1;
+
+    ProgressThrottle(Consumer<Double> onProgress, long intervalNanos, ScheduledExecutorService scheduler) {
+        this.onProgress = onProgress;
+        this.intervalNanos = intervalNanos;
+        this.scheduler = scheduler;
+        this.lastDelivery = System.nanoTime() - intervalNanos;
+    }
+
+    void report(double progress) {
+        latest.set(Double.doubleToRawLongBits(progress));
+        if (closed || !scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        long wait = intervalNanos - (System.nanoTime() - lastDelivery);
+        if (intervalNanos <= 0 || wait <= 0) {
+            Platform.runLater(this::deliver);
+        } else {
+            scheduler.schedule(() -> Platform.runLater(this::deliver), wait, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Delivers the latest value if it was not delivered yet and stops further deliveries.
+     * Called on the FX thread when the task completes.
+     */
+    void flush() {
+        closed = true;
+        deliverLatest();
+    }
+
+    /**
+     * Stops further deliveries without delivering the latest value, e.g. after cancellation.
+     */
+    void close() {
+        closed = true;
+    }
+
+    private void deliver() {
+        scheduled.set(false);
+        if (!closed) {
+            deliverLatest();
+        }
+    }
+
+    private void deliverLatest() {
+        lastDelivery = System.nanoTime();
+        double progress = Double.longBitsToDouble(latest.get());
+        if (progress >= 0 && progress != delivered) {
+            delivered = progress;
+            onProgress.accept(progress);
+        }
+    }
+}
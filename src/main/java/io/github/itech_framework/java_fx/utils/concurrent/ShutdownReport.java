@@ -0,0 +1,15 @@
+package io.github.itech_framework.java_fx.utils.concurrent;
+
+import java.time.Duration;
+
+/**
+ * Outcome of {@link BackgroundTaskService#shutdown(Duration)}.
+ *
+ * @param drained          whether every accepted task finished before the deadline
+ * @param abandonedTasks   queued tasks that never started; their handles are cancelled
+ * @param interruptedTasks tasks still running at the deadline, interrupted
+ * @param droppedSchedules delayed or periodic scheduled tasks that will not run
+ */
+public record ShutdownReport(boolean drained, int abandonedTasks, int interruptedTasks, int droppedSchedules,
+                             Duration elapsed) {
+}
@@ -0,0 +1,254 @@
+package io.github.itech_framework.java_fx.utils.concurrent;
+
+import javafx.application.Platform;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Group of background tasks completed together, created with
+ * {@link BackgroundTaskService#newTaskGroup()}. The first failure cancels the remaining tasks,
+ * and the group reports once on the FX thread:
+ *
+ * <pre>{@code
+ * TaskGroup group = BackgroundTaskService.getInstance().newTaskGroup();
+ * TaskGroup.Subtask<Sales> sales = group.fork(api::loadSales);
+ * TaskGroup.Subtask<List<Order>> orders = group.fork(api::loadOrders);
+ * group.join(Duration.ofSeconds(5), () -> render(sales.get(), orders.get()), this::showError)
+ *         .bindTo(this);
+ * }</pre>
+ */
+public class TaskGroup {
+    private final BackgroundTaskService service;
+    private final List<Subtask<?>> subtasks = new ArrayList<>();
+    private final Completion completion = new Completion();
+    private int remaining;
+    private boolean joined;
+    private boolean settled;
+    private Exception failure;
+    private Runnable onSuccess;
+    private Consumer<Exception> onError;
+    private ScheduledFuture<?> timeout;
+    private TaskHandle handle;
+
+    TaskGroup(BackgroundTaskService service) {
+        this.service = service;
+    }
+
+    public <T> Subtask<T> fork(Callable<T> task) {
+        return fork(TaskPriority.USER_VISIBLE, task);
+    }
+
+    /**
+     * Starts {@code task} on the worker pool in the given lane.
+     *
+     * @throws IllegalStateException if the group was already joined
+     */
+    public <T> Subtask<T> fork(TaskPriority priority, Callable<T> task) {
+        Objects.requireNonNull(task, "task");
+        Subtask<T> subtask = new Subtask<>(task);
+        synchronized (this) {
+            if (joined) {
+                throw new IllegalStateException("Cannot fork into a task group that was already joined");
+            }
+            subtasks.add(subtask);
+            remaining++;
+            if (settled) {
+                // an earlier task failed, the group will report that failure
+                subtask.future.cancel(false);
+                return subtask;
+            }
+        }
+        service.submit(subtask.future, priority);
+        return subtask;
+    }
+
+    /**
+     * Waits for all forked tasks without blocking. {@code onSuccess} is called once on the FX
+     * thread when every task succeeded, so results read with {@link Subtask#get()} can be applied
+     * in a single pulse. Otherwise {@code onError} is called once with the first failure, a
+     * {@link CancellationException} for a task cancelled outside the group, or a
+     * {@link TimeoutException} when the tasks did not finish within {@code timeout}; the remaining
+     * tasks are interrupted. A zero or negative timeout waits without limit.
+     *
+     * <p>Cancelling the returned handle interrupts the remaining tasks and suppresses both
+     * callbacks.</p>
+     *
+     * @throws IllegalStateException if the group was already joined
+     */
+    public TaskHandle join(Duration timeout, Runnable onSuccess, Consumer<Exception> onError) {
+        synchronized (this) {
+            if (joined) {
+                throw new IllegalStateException("Task group was already joined");
+            }
+            joined = true;
+            handle = new TaskHandle(completion, TaskPriority.USER_VISIBLE);
+            this.onSuccess = onSuccess;
+            this.onError = onError;
+            if (failure != null) {
+                report(failure);
+            } else if (remaining == 0) {
+                settle(null);
+            } else if (!timeout.isZero() && !timeout.isNegative()) {
+                this.timeout = service.scheduleTask(this::timeout, timeout.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+        return handle;
+    }
+
+    /**
+     * Interrupts the unfinished tasks; no callback of the group is called afterwards.
+     */
+    public void cancel() {
+        completion.cancel(true);
+    }
+
+    private synchronized void subtaskDone(Subtask<?> subtask) {
+        remaining--;
+        if (settled) {
+            return;
+        }
+        if (subtask.future.isCancelled()) {
+            // the group settles before cancelling its own tasks, so this came from outside
+            settle(new CancellationException("A task of the group was cancelled"));
+            return;
+        }
+        Exception error = subtask.getException();
+        if (error != null) {
+            settle(error);
+        } else if (joined && remaining == 0) {
+            settle(null);
+        }
+    }
+
+    private synchronized void timeout() {
+        if (!settled) {
+            settle(new TimeoutException("Task group did not complete within its timeout, "
+                    + remaining + " of " + subtasks.size() + " tasks unfinished"));
+        }
+    }
+
+    // called with the group lock held
+    private void settle(Exception error) {
+        settled = true;
+        if (timeout != null) {
+            timeout.cancel(false);
+        }
+        if (error != null) {
+            cancelSubtasks(true);
+            if (joined) {
+                report(error);
+            } else {
+                failure = error;
+            }
+        } else {
+            Platform.runLater(() -> {
+                if (completion.complete(null) && onSuccess != null) {
+                    onSuccess.run();
+                }
+                BackgroundTaskService.unbind(handle);
+            });
+        }
+    }
+
+    private void report(Exception error) {
+        Platform.runLater(() -> {
+            if (completion.completeExceptionally(error) && onError != null) {
+                onError.accept(error);
+            }
+            BackgroundTaskService.unbind(handle);
+        });
+    }
+
+    private void cancelSubtasks(boolean interrupt) {
+        for (Subtask<?> subtask : subtasks) {
+            subtask.future.cancel(interrupt);
+        }
+    }
+
+    /**
+     * Result of one forked task.
+     */
+    public final class Subtask<T> {
+        private final FutureTask<T> future;
+
+        private Subtask(Callable<T> task) {
+            this.future = new FutureTask<>(task) {
+                @Override
+                protected void done() {
+                    subtaskDone(Subtask.this);
+                }
+            };
+        }
+
+        public boolean isDone() {
+            return future.isDone();
+        }
+
+        /**
+         * Returns the result of the task.
+         *
+         * @throws IllegalStateException if the task has not completed successfully
+         */
+        public T get() {
+            if (!future.isDone()) {
+                throw new IllegalStateException("Task has not completed");
+            }
+            try {
+                return future.get();
+            } catch (ExecutionException | CancellationException e) {
+                throw new IllegalStateException("Task did not complete successfully", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+
+        /**
+         * Returns the failure of the task, or {@code null} if it succeeded, was cancelled or is
+         * still running.
+         */
+        public Exception getException() {
+            if (!future.isDone() || future.isCancelled()) {
+                return null;
+            }
+            try {
+                future.get();
+                return null;
+            } catch (ExecutionException e) {
+                return e.getCause() instanceof Exception ? (Exception) e.getCause() : new Exception(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+    }
+
+    private final class Completion extends CompletableFuture<Void> {
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                synchronized (TaskGroup.this) {
+                    settled = true;
+                    if (timeout != null) {
+                        timeout.cancel(false);
+                    }
+                    cancelSubtasks(mayInterruptIfRunning);
+                }
+            }
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.itech_framework.java_fx.utils.concurrent;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.Future;
+
+/**
+ * Handle of a task submitted to {@link BackgroundTaskService}. A cancelled task that has not
+ * started never runs, and its success and error callbacks are not called.
+ */
+public class TaskHandle {
+    private final Future<?> future;
+    private final TaskPriority priority;
+    private volatile WeakReference<Object> owner;
+
+    TaskHandle(Future<?> future, TaskPriority priority) {
+        this.future = future;
+        this.priority = priority;
+    }
+
+    /**
+     * Cancels the task, letting it finish if it already started.
+     */
+    public boolean cancel() {
+        return future.cancel(false);
+    }
+
+    /**
+     * Cancels the task and interrupts its thread if it is running.
+     */
+    public boolean interrupt() {
+        return future.cancel(true);
+    }
+
+    public boolean isDone() {
+        return future.isDone();
+    }
+
+    public boolean isCancelled() {
+        return future.isCancelled();
+    }
+
+    public TaskPriority getPriority() {
+        return priority;
+    }
+
+    /**
+     * Interrupts the task when {@code owner} is released with
+     * {@link BackgroundTaskService#cancelOwnedTasks(Object)}; the router does this for
+     * controllers it discards. The owner is referenced weakly.
+     */
+    public TaskHandle bindTo(Object owner) {
+        this.owner = new WeakReference<>(owner);
+        BackgroundTaskService.bind(owner, this);
+        return this;
+    }
+
+    Object owner() {
+        WeakReference<Object> reference = owner;
+        return reference != null ? reference.get() : null;
+    }
+}
@@ -0,0 +1,12 @@
+package io.github.itech_framework.java_fx.utils.concurrent;
+
+/**
+ * Queue lane of a {@link BackgroundTaskService} task. Queued user-visible tasks always start
+ * before queued background tasks; tasks of one lane start in submission order.
+ */
+public enum TaskPriority {
+    /** Work the user is waiting for, e.g. loading the current view. */
+    USER_VISIBLE,
+    /** Work nobody is waiting for, e.g. prefetching or cleanup. */
+    BACKGROUND
+}
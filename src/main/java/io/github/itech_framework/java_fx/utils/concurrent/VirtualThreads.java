@@ -0,0 +1,42 @@
+package io.github.itech_framework.java_fx.utils.concurrent;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Access to JDK 21 virtual threads while the framework is compiled for Java 17.
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isAvailable() {
+        return factory() != null;
+    }
+
+    /**
+     * @return a virtual-thread-per-task executor, or {@code null} when the running JDK has no
+     * virtual threads
+     */
+    public static ExecutorService newPerTaskExecutor() {
+        Method factory = factory();
+        if (factory == null) {
+            return null;
+        }
+        try {
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static Method factory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
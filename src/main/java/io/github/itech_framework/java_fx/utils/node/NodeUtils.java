@@ -0,0 +1,36 @@
+package io.github.itech_framework.java_fx.utils.node;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import javafx.scene.Node;
+import javafx.scene.Parent;
+
+public final class NodeUtils {
+
+    private NodeUtils() {}
+
+    /**
+     * Counts the node and all of its descendants, including skin children of controls
+     * @param node Root of the subtree, may be null
+     * @return Number of nodes in the subtree
+     */
+    public static int countNodes(Node node) {
+        if (node == null) {
+            return 0;
+        }
+        int count = 0;
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(node);
+        while (!pending.isEmpty()) {
+            Node current = pending.pop();
+            count++;
+            if (current instanceof Parent parent) {
+                for (Node child : parent.getChildrenUnmodifiable()) {
+                    pending.push(child);
+                }
+            }
+        }
+        return count;
+    }
+}
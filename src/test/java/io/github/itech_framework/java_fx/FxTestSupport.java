@@ -0,0 +1,68 @@
+package io.github.itech_framework.java_fx;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the JavaFX toolkit once per test JVM (headless Monocle, see the surefire
+ * configuration) and runs code on the FX thread.
+ */
+public final class FxTestSupport {
+    private static boolean started;
+
+    private FxTestSupport() {}
+
+    public static synchronized void startToolkit() throws InterruptedException {
+        if (started) {
+            return;
+        }
+        CountDownLatch latch = new CountDownLatch(1);
+        try {
+            Platform.startup(latch::countDown);
+        } catch (IllegalStateException e) {
+            // already started by another test class
+            latch.countDown();
+        }
+        Platform.setImplicitExit(false);
+        latch.await(10, TimeUnit.SECONDS);
+        started = true;
+    }
+
+    public static <T> T onFx(Callable<T> action) throws Exception {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            try {
+                result.complete(action.call());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        try {
+            return result.get(10, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public static void onFx(Runnable action) throws Exception {
+        onFx(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Waits until the FX events queued so far, including {@code Platform.runLater} calls, ran.
+     */
+    public static void drainFx() throws Exception {
+        onFx(() -> null);
+    }
+}
@@ -0,0 +1,212 @@
+package io.github.itech_framework.java_fx.events;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Subscribes and unsubscribes from several threads while others publish, and checks that no
+ * publish fails, no subscription is lost and every listener registered before a publish gets it.
+ */
+class EventBusConcurrencyTest {
+    private static final int CHURN_THREADS = 8;
+    private static final int PUBLISH_THREADS = 4;
+    private static final int ROUNDS = 2_000;
+    private static final int EVENTS_PER_PUBLISHER = 5_000;
+    private static final int STABLE_LISTENERS = 3;
+    // subscriptions every churn thread leaves in place
+    private static final int KEPT_PER_THREAD = 5;
+
+    private final ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+    private ExecutorService asyncExecutor;
+
+    @AfterEach
+    void tearDown() {
+        if (asyncExecutor != null) {
+            asyncExecutor.shutdownNow();
+        }
+        EventBus.clearAll();
+    }
+
+    @Test
+    void stringChannelsUnderConcurrentSubscribeAndPublish() throws Exception {
+        String eventType = "stress.string";
+        asyncExecutor = Executors.newFixedThreadPool(4);
+
+        AtomicLong[] stable = new AtomicLong[STABLE_LISTENERS];
+        for (int i = 0; i < STABLE_LISTENERS; i++) {
+            AtomicLong received = stable[i] = new AtomicLong();
+            EventBus.subscribe(eventType, "stable-" + i, event -> received.incrementAndGet());
+        }
+
+        run(
+                thread -> churn(thread,
+                        (id, listener) -> EventBus.subscribe(eventType, id, listener),
+                        id -> EventBus.unsubscribe(eventType, id),
+                        token -> EventBus.publish(eventType, token)),
+                thread -> {
+                    for (int i = 0; i < EVENTS_PER_PUBLISHER; i++) {
+                        switch (i % 3) {
+                            case 0 -> EventBus.publish(eventType, i);
+                            case 1 -> EventBus.publishAsync(eventType, i);
+                            default -> EventBus.publishAsync(eventType, i, asyncExecutor);
+                        }
+                    }
+                });
+
+        assertNoFailures();
+        assertEquals(STABLE_LISTENERS + CHURN_THREADS * KEPT_PER_THREAD, EventBus.getListenerCount(eventType));
+        // churn threads publish one token per round on top of the publishers' events
+        long expected = (long) PUBLISH_THREADS * EVENTS_PER_PUBLISHER + (long) CHURN_THREADS * ROUNDS;
+        for (AtomicLong received : stable) {
+            awaitCount(received, expected);
+        }
+    }
+
+    @Test
+    void typedChannelsUnderConcurrentSubscribeAndPublish() throws Exception {
+        asyncExecutor = Executors.newFixedThreadPool(4);
+
+        AtomicLong stableBase = new AtomicLong();
+        AtomicLong stableMarker = new AtomicLong();
+        EventBus.subscribe(BaseEvent.class, "stable-base", event -> stableBase.incrementAndGet());
+        EventBus.subscribe(Marker.class, "stable-marker", event -> stableMarker.incrementAndGet());
+
+        run(
+                // churn on the supertype so every publish resolves the hierarchy again
+                thread -> churn(thread,
+                        (id, listener) -> EventBus.subscribe(BaseEvent.class, id, listener::accept),
+                        id -> EventBus.unsubscribe(BaseEvent.class, id),
+                        token -> EventBus.publish(new TokenEvent(token))),
+                thread -> {
+                    for (int i = 0; i < EVENTS_PER_PUBLISHER; i++) {
+                        switch (i % 3) {
+                            case 0 -> EventBus.publish(new TickEvent());
+                            case 1 -> EventBus.publishAsync(new TickEvent());
+                            default -> EventBus.publishOrdered(thread, new TickEvent());
+                        }
+                    }
+                });
+
+        assertNoFailures();
+        assertEquals(1 + CHURN_THREADS * KEPT_PER_THREAD, EventBus.getListenerCount(BaseEvent.class));
+        assertEquals(2 + CHURN_THREADS * KEPT_PER_THREAD, EventBus.getListenerCount(TickEvent.class));
+        awaitCount(stableBase, (long) PUBLISH_THREADS * EVENTS_PER_PUBLISHER + (long) CHURN_THREADS * ROUNDS);
+        awaitCount(stableMarker, (long) PUBLISH_THREADS * EVENTS_PER_PUBLISHER);
+    }
+
+    /**
+     * Each round subscribes a listener, publishes a token synchronously and requires the
+     * listener to have received it before unsubscribing; the last rounds stay subscribed.
+     */
+    private void churn(int thread, Subscriber subscribe, Unsubscriber unsubscribe, Consumer<Object> publish) {
+        for (int round = 0; round < ROUNDS; round++) {
+            String id = "churn-" + thread + "-" + round;
+            Object token = new Object();
+            AtomicBoolean received = new AtomicBoolean();
+            subscribe.subscribe(id, event -> {
+                if (event == token || event instanceof TokenEvent tokenEvent && tokenEvent.token() == token) {
+                    received.set(true);
+                }
+            });
+            publish.accept(token);
+            if (!received.get()) {
+                failures.add(new AssertionError(id + " did not receive an event published after subscribing"));
+            }
+            if (round < ROUNDS - KEPT_PER_THREAD && !unsubscribe.unsubscribe(id)) {
+                failures.add(new AssertionError(id + " was lost before unsubscribing"));
+            }
+        }
+    }
+
+    private void run(Worker churn, Worker publish) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < CHURN_THREADS; i++) {
+            threads.add(worker("churn-" + i, i, churn, start));
+        }
+        for (int i = 0; i < PUBLISH_THREADS; i++) {
+            threads.add(worker("publish-" + i, i, publish, start));
+        }
+        threads.forEach(Thread::start);
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.MINUTES.toMillis(2));
+            assertTrue(!thread.isAlive(), thread.getName() + " did not finish");
+        }
+    }
+
+    private Thread worker(String name, int index, Worker body, CountDownLatch start) {
+        return new Thread(() -> {
+            try {
+                start.await();
+                body.run(index);
+            } catch (Throwable e) {
+                // a ConcurrentModificationException or any other publish failure ends up here
+                failures.add(e);
+            }
+        }, name);
+    }
+
+    private void assertNoFailures() {
+        if (!failures.isEmpty()) {
+            AssertionError error = new AssertionError(failures.size() + " failures, first: " + failures.peek());
+            failures.forEach(error::addSuppressed);
+            throw error;
+        }
+    }
+
+    private static void awaitCount(AtomicLong counter, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (counter.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, counter.get());
+    }
+
+    private interface Worker {
+        void run(int thread) throws Exception;
+    }
+
+    private interface Subscriber {
+        void subscribe(String id, Consumer<Object> listener);
+    }
+
+    private interface Unsubscriber {
+        boolean unsubscribe(String id);
+    }
+
+    private interface Marker {
+    }
+
+    private static class BaseEvent {
+    }
+
+    private static class TickEvent extends BaseEvent implements Marker {
+    }
+
+    private static class TokenEvent extends BaseEvent {
+        private final Object token;
+
+        TokenEvent(Object token) {
+            this.token = token;
+        }
+
+        Object token() {
+            return token;
+        }
+    }
+}
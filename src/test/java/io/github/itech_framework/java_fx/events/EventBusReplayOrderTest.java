@@ -0,0 +1,82 @@
+package io.github.itech_framework.java_fx.events;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Subscribes with replay while another thread publishes, and checks that every subscriber sees
+ * the replayed events and then the live ones in publishing order, each exactly once.
+ */
+class EventBusReplayOrderTest {
+    private static final String EVENT_TYPE = "replay.order";
+    private static final int RETAINED = 32;
+    private static final int EVENTS = 100_000;
+    private static final int MAX_SUBSCRIBERS = 200;
+
+    @AfterEach
+    void tearDown() {
+        EventBus.disableReplay(EVENT_TYPE);
+        EventBus.clearAll();
+    }
+
+    @Test
+    void replayIsDeliveredBeforeConcurrentLiveEvents() throws Exception {
+        EventBus.enableReplay(EVENT_TYPE, RETAINED);
+        AtomicBoolean publishing = new AtomicBoolean(true);
+        CountDownLatch subscribed = new CountDownLatch(1);
+        Thread publisher = new Thread(() -> {
+            try {
+                subscribed.await();
+            } catch (InterruptedException e) {
+                return;
+            }
+            for (int i = 0; i < EVENTS; i++) {
+                EventBus.publish(EVENT_TYPE, i);
+            }
+            publishing.set(false);
+        }, "replay-publisher");
+
+        List<Queue<Integer>> subscribers = new ArrayList<>();
+        publisher.start();
+        while (publishing.get() && subscribers.size() < MAX_SUBSCRIBERS) {
+            Queue<Integer> received = new ConcurrentLinkedQueue<>();
+            EventBus.subscribe(EVENT_TYPE, event -> received.add((Integer) event),
+                    new SubscribeOptions().withReplay(RETAINED));
+            subscribers.add(received);
+            subscribed.countDown();
+        }
+        publisher.join(TimeUnit.MINUTES.toMillis(1));
+        assertFalse(publisher.isAlive(), "publisher did not finish");
+
+        // the first subscriber may have started before any event, later ones replay
+        assertTrue(subscribers.size() > 1, "no subscription overlapped the publisher");
+        for (Queue<Integer> received : subscribers) {
+            assertConsecutive(List.copyOf(received));
+        }
+    }
+
+    /**
+     * Replayed and live events together form one gap-free run ending with the last event.
+     */
+    private static void assertConsecutive(List<Integer> received) {
+        assertFalse(received.isEmpty(), "a subscriber received nothing");
+        for (int i = 1; i < received.size(); i++) {
+            int index = i;
+            assertEquals(received.get(i - 1) + 1, received.get(i),
+                    () -> "out of order or duplicated at " + index + ": " + received);
+        }
+        assertEquals(EVENTS - 1, received.get(received.size() - 1));
+    }
+}
@@ -0,0 +1,36 @@
+package io.github.itech_framework.java_fx.loader.cache;
+
+import javafx.fxml.FXML;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.VBox;
+
+/**
+ * Controller of the {@code form.fxml} test view.
+ */
+public class FormController {
+    @FXML
+    VBox form;
+    @FXML
+    Label title;
+    @FXML
+    TextField query;
+    @FXML
+    Button search;
+    @FXML
+    Label footer;
+
+    int initialized;
+    int searches;
+
+    @FXML
+    private void initialize() {
+        initialized++;
+    }
+
+    @FXML
+    private void search() {
+        searches++;
+    }
+}
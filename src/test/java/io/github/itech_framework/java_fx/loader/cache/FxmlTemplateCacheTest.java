@@ -0,0 +1,135 @@
+package io.github.itech_framework.java_fx.loader.cache;
+
+import io.github.itech_framework.java_fx.FxTestSupport;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.control.Labeled;
+import javafx.scene.control.TextInputControl;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static io.github.itech_framework.java_fx.FxTestSupport.onFx;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FxmlTemplateCacheTest {
+
+    @BeforeAll
+    static void startToolkit() throws InterruptedException {
+        FxTestSupport.startToolkit();
+    }
+
+    @Test
+    void replaysTheSameGraphAndControllerAsFxmlLoader() throws Exception {
+        FxmlTemplateCache cache = new FxmlTemplateCache(EvictionPolicy.maxEntries(8));
+        onFx(() -> {
+            FXMLLoader reference = new FXMLLoader(FxmlTemplateCacheTest.class.getResource("form.fxml"));
+            Parent expected = reference.load();
+
+            for (int i = 0; i < 2; i++) {
+                FxmlTemplate template = cache.get(FxmlTemplateCacheTest.class, "form.fxml");
+                FXMLLoader loader = template.newLoader();
+                Parent actual = template.load(loader);
+
+                assertEquals(describe(expected), describe(actual));
+                assertController(loader.getController(), actual);
+            }
+            assertController(reference.getController(), expected);
+            return null;
+        });
+    }
+
+    @Test
+    void everyLoadCreatesAnIndependentGraph() throws Exception {
+        FxmlTemplateCache cache = new FxmlTemplateCache(EvictionPolicy.maxEntries(8));
+        onFx(() -> {
+            FxmlTemplate template = cache.get(FxmlTemplateCacheTest.class, "form.fxml");
+            FXMLLoader first = template.newLoader();
+            FXMLLoader second = template.newLoader();
+            Parent firstRoot = template.load(first);
+            Parent secondRoot = template.load(second);
+
+            assertNotSame(firstRoot, secondRoot);
+            assertNotSame(first.getController(), second.getController());
+            assertSame(template, cache.get(FxmlTemplateCacheTest.class, "form.fxml"));
+            assertEquals(1, cache.size());
+            return null;
+        });
+    }
+
+    @Test
+    void invalidateDropsTheTemplate() throws Exception {
+        FxmlTemplateCache cache = new FxmlTemplateCache(EvictionPolicy.maxEntries(8));
+        FxmlTemplate template = cache.get(FxmlTemplateCacheTest.class, "form.fxml");
+
+        cache.invalidate("form.fxml");
+
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getTotalBytes());
+        assertNotSame(template, cache.get(FxmlTemplateCacheTest.class, "form.fxml"));
+    }
+
+    @Test
+    void missingResourcesFail() {
+        FxmlTemplateCache cache = new FxmlTemplateCache(EvictionPolicy.maxEntries(8));
+        assertThrows(IllegalStateException.class, () -> cache.get(FxmlTemplateCacheTest.class, "missing.fxml"));
+    }
+
+    private static void assertController(FormController controller, Parent root) {
+        assertSame(root, controller.form);
+        assertSame(root.lookup(".label"), controller.title);
+        assertSame(root.lookup(".text-field"), controller.query);
+        assertSame(root.lookup(".button"), controller.search);
+        assertSame(root.lookup(".footer"), controller.footer);
+        assertEquals(1, controller.initialized);
+
+        controller.search.fire();
+        assertEquals(1, controller.searches);
+    }
+
+    private static String describe(Node node) {
+        StringBuilder out = new StringBuilder();
+        describe(node, "", out);
+        return out.toString();
+    }
+
+    private static void describe(Node node, String indent, StringBuilder out) {
+        out.append(indent).append(node.getClass().getName())
+                .append(" id=").append(node.getId())
+                .append(" styleClass=").append(node.getStyleClass());
+        if (node instanceof Parent parent && !parent.getStylesheets().isEmpty()) {
+            out.append(" stylesheets=").append(parent.getStylesheets());
+        }
+        if (node instanceof Region region) {
+            out.append(" padding=").append(region.getPadding());
+        }
+        if (node instanceof VBox box) {
+            out.append(" spacing=").append(box.getSpacing());
+        }
+        if (node instanceof HBox box) {
+            out.append(" spacing=").append(box.getSpacing());
+        }
+        if (node.getParent() instanceof HBox) {
+            out.append(" hgrow=").append(HBox.getHgrow(node));
+        }
+        if (node instanceof Labeled labeled) {
+            out.append(" text=").append(labeled.getText()).append(" wrap=").append(labeled.isWrapText());
+        }
+        if (node instanceof TextInputControl input) {
+            out.append(" prompt=").append(input.getPromptText());
+        }
+        out.append('\n');
+        // controls build their skins lazily, so only the FXML-declared children are compared
+        if (node instanceof Parent parent && !(node instanceof javafx.scene.control.Control)) {
+            for (Node child : parent.getChildrenUnmodifiable()) {
+                describe(child, indent + "  ", out);
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package io.github.itech_framework.java_fx.router;
+
+import io.github.itech_framework.java_fx.events.EventBus;
+import io.github.itech_framework.java_fx.events.SubscribeOptions;
+import javafx.fxml.FXML;
+import javafx.scene.control.Label;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Controller of {@code preload-view.fxml}: subscribes to {@link #EVENT} with itself as owner, the
+ * way views tie their listeners to their lifetime. {@link #gate} holds loads inside initialize.
+ */
+public class PreloadController {
+    static final String EVENT = "preload.view";
+    static final AtomicInteger created = new AtomicInteger();
+    static final AtomicInteger initialized = new AtomicInteger();
+    static volatile CountDownLatch gate;
+
+    final String listenerId = "view-" + created.getAndIncrement();
+
+    @FXML
+    private Label title;
+
+    @FXML
+    private void initialize() throws InterruptedException {
+        CountDownLatch held = gate;
+        if (held != null) {
+            held.await(10, TimeUnit.SECONDS);
+        }
+        EventBus.subscribe(EVENT, listenerId, event -> {}, new SubscribeOptions().withOwner(this));
+        initialized.incrementAndGet();
+    }
+}
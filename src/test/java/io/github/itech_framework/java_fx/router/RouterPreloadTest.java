@@ -0,0 +1,94 @@
+package io.github.itech_framework.java_fx.router;
+
+import io.github.itech_framework.core.processor.components_processor.ComponentProcessor;
+import io.github.itech_framework.core.store.ComponentStore;
+import io.github.itech_framework.java_fx.FxTestSupport;
+import io.github.itech_framework.java_fx.events.EventBus;
+import javafx.stage.Stage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static io.github.itech_framework.java_fx.FxTestSupport.onFx;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that preloaded views the router drops release the subscriptions their controllers own,
+ * whether the load had finished or was still running.
+ */
+class RouterPreloadTest {
+    private static final String VIEW = "/io/github/itech_framework/java_fx/router/preload-view.fxml";
+
+    private Router router;
+
+    @BeforeAll
+    static void startToolkit() throws InterruptedException {
+        FxTestSupport.startToolkit();
+        ComponentStore.registerComponent(PreloadController.class.getName(), new PreloadController(),
+                ComponentProcessor.PRESENTATION_LEVEL);
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        PreloadController.created.set(0);
+        PreloadController.initialized.set(0);
+        router = onFx(() -> {
+            Router created = new Router();
+            created.initialize(RouterPreloadTest.class, new Stage());
+            created.registerRoute("first", VIEW, PreloadController.class);
+            created.registerRoute("second", VIEW, PreloadController.class);
+            created.getConfig().setPrefetchBudget(1);
+            return created;
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        PreloadController.gate = null;
+        onFx(router::clearPreloaded);
+        EventBus.clearAll();
+    }
+
+    @Test
+    void evictedPreloadReleasesOwnedSubscriptions() throws Exception {
+        onFx(() -> router.preload("first"));
+        awaitTrue(() -> EventBus.hasListener(PreloadController.EVENT, "view-0"));
+
+        // the budget holds one view, so this evicts the finished first one
+        onFx(() -> router.preload("second"));
+        awaitTrue(() -> EventBus.hasListener(PreloadController.EVENT, "view-1"));
+        FxTestSupport.drainFx();
+
+        assertFalse(EventBus.hasListener(PreloadController.EVENT, "view-0"));
+        assertTrue(EventBus.hasListener(PreloadController.EVENT, "view-1"));
+    }
+
+    @Test
+    void preloadClearedWhileLoadingReleasesOwnedSubscriptions() throws Exception {
+        CountDownLatch gate = new CountDownLatch(1);
+        PreloadController.gate = gate;
+        onFx(() -> router.preload("first"));
+        awaitTrue(() -> PreloadController.created.get() > 0);
+
+        // the controller exists but has not subscribed yet
+        onFx(router::clearPreloaded);
+        gate.countDown();
+        awaitTrue(() -> PreloadController.initialized.get() > 0);
+
+        awaitTrue(() -> !EventBus.hasListener(PreloadController.EVENT, "view-0"));
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}